@@ -0,0 +1,54 @@
+package com.finance.cache;
+
+import com.finance.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Answers GET requests with a 304 when the client already holds the current version of the
+ * user's data, before the controller runs. The version is read from the authenticated user,
+ * which the JWT filter has just loaded, so the check costs no extra query. The ETag also hashes
+ * the URI, query string and Accept header, so one validator never stands for another resource,
+ * page, filter or representation (JSON against NDJSON, for example).
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return true;
+        }
+
+        // Responses default to date-relative ranges, so the ETag changes with the day as well
+        String etag = "\"" + user.getId() + "-" + user.getDataVersion() + "-" + LocalDate.now()
+            + "-" + representationHash(request) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static String representationHash(HttpServletRequest request) {
+        String key = request.getRequestURI()
+            + '?' + (request.getQueryString() != null ? request.getQueryString() : "")
+            + '|' + (request.getHeader(HttpHeaders.ACCEPT) != null ? request.getHeader(HttpHeaders.ACCEPT) : "");
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,178 @@
+package com.finance.cache;
+
+import com.finance.dto.dashboard.CacheStatisticsResponse;
+import com.finance.dto.dashboard.CategoryStatisticsResponse;
+import com.finance.dto.dashboard.DashboardSummaryResponse;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.event.UserDataChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of dashboard results, keyed by user, date range and type.
+ * All entries of a user are dropped once a write to that user's data commits.
+ */
+@Component
+public class DashboardCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Object> entries;
+    private final Map<Long, Set<Key>> keysByUser = new HashMap<>();
+    private final Map<Long, Long> generations = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public DashboardCache(@Value("${app.dashboard.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() <= DashboardCache.this.maxEntries) {
+                    return false;
+                }
+                forgetKey(eldest.getKey());
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public DashboardSummaryResponse getSummary(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Supplier<DashboardSummaryResponse> loader) {
+        return get(summaryKey(userId, startDate, endDate), loader, DashboardCache::isCacheableSummary);
+    }
+
+    /**
+     * Compute and store a summary ahead of its first request, unless it is already cached.
+     * Does not count as a hit or a miss.
+     */
+    public void prefetchSummary(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Supplier<DashboardSummaryResponse> loader) {
+        Key key = summaryKey(userId, startDate, endDate);
+        long generation;
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+            generation = generations.getOrDefault(userId, 0L);
+        }
+
+        store(key, loader.get(), generation, DashboardCache::isCacheableSummary);
+    }
+
+    public List<CategoryStatisticsResponse> getCategoryStatistics(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            TransactionType type,
+            Supplier<List<CategoryStatisticsResponse>> loader) {
+        return get(new Key(userId, Section.CATEGORY_STATISTICS, startDate, endDate, type, LocalDate.now()), loader,
+            statistics -> true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    public synchronized void invalidateUser(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+        Set<Key> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+            invalidations += keys.size();
+        }
+    }
+
+    public synchronized CacheStatisticsResponse getStatistics() {
+        long requests = hits + misses;
+        return CacheStatisticsResponse.builder()
+            .size(entries.size())
+            .maxEntries(maxEntries)
+            .hits(hits)
+            .misses(misses)
+            .evictions(evictions)
+            .invalidations(invalidations)
+            .hitRate(requests > 0 ? (double) hits / requests : 0.0)
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> loader, Predicate<T> cacheable) {
+        long generation;
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return (T) cached;
+            }
+            misses++;
+            generation = generations.getOrDefault(key.userId(), 0L);
+        }
+
+        T value = loader.get();
+        store(key, value, generation, cacheable);
+        return value;
+    }
+
+    private synchronized <T> void store(Key key, T value, long generation, Predicate<T> cacheable) {
+        // A write committed while loading: the value may already be stale
+        if (cacheable.test(value) && generations.getOrDefault(key.userId(), 0L) == generation) {
+            entries.put(key, value);
+            keysByUser.computeIfAbsent(key.userId(), id -> new HashSet<>()).add(key);
+        }
+    }
+
+    private static Key summaryKey(Long userId, LocalDate startDate, LocalDate endDate) {
+        return new Key(userId, Section.SUMMARY, startDate, endDate, null, LocalDate.now());
+    }
+
+    // A partial summary is returned to the caller but never cached
+    private static boolean isCacheableSummary(DashboardSummaryResponse summary) {
+        return !Boolean.TRUE.equals(summary.getPartial());
+    }
+
+    private void forgetKey(Key key) {
+        Set<Key> keys = keysByUser.get(key.userId());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByUser.remove(key.userId());
+            }
+        }
+    }
+
+    private enum Section {
+        SUMMARY,
+        CATEGORY_STATISTICS
+    }
+
+    private record Key(
+        Long userId,
+        Section section,
+        LocalDate startDate,
+        LocalDate endDate,
+        TransactionType type,
+        LocalDate computedOn // monthly trends are relative to the current date
+    ) {}
+}
@@ -0,0 +1,24 @@
+package com.finance.cache;
+
+import com.finance.event.UserDataChangedEvent;
+import com.finance.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bumps the user's data version inside the writing transaction, so the new version
+ * becomes visible together with the data it describes
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionTracker {
+
+    private final UserRepository userRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        userRepository.incrementDataVersion(event.userId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.finance.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last time each user was seen authenticating, used to decide whose dashboards to precompute
+ */
+@Component
+public class RecentActivityTracker {
+
+    private final Map<Long, Long> lastSeenByUser = new ConcurrentHashMap<>();
+
+    public void recordActivity(Long userId) {
+        lastSeenByUser.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Users seen within the window, most recent first
+     */
+    public List<Long> getRecentlyActiveUsers(Duration window, int limit) {
+        long since = System.currentTimeMillis() - window.toMillis();
+        return lastSeenByUser.entrySet().stream()
+            .filter(entry -> entry.getValue() >= since)
+            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    /**
+     * Forget users not seen within the window
+     */
+    public void prune(Duration window) {
+        long since = System.currentTimeMillis() - window.toMillis();
+        lastSeenByUser.values().removeIf(lastSeen -> lastSeen < since);
+    }
+}
@@ -0,0 +1,49 @@
+package com.finance.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serves repeated calls to {@link RequestMemoized} repository methods from the request's memo
+ */
+@Aspect
+@Component
+public class RequestMemoAspect {
+
+    @Around("@annotation(com.finance.cache.RequestMemoized)")
+    public Object memoize(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestQueryMemo memo = RequestQueryMemo.current();
+        if (memo == null) {
+            return joinPoint.proceed();
+        }
+
+        List<Object> key = new ArrayList<>();
+        key.add(((MethodSignature) joinPoint.getSignature()).getMethod().toGenericString());
+        key.addAll(Arrays.asList(joinPoint.getArgs()));
+
+        try {
+            return memo.getOrLoad(key, () -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (Throwable ex) {
+                    throw new QueryFailure(ex);
+                }
+            });
+        } catch (QueryFailure failure) {
+            throw failure.getCause();
+        }
+    }
+
+    private static final class QueryFailure extends RuntimeException {
+        QueryFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
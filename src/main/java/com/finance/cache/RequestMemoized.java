@@ -0,0 +1,16 @@
+package com.finance.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only repository method whose result can be reused for identical
+ * arguments within the same HTTP request. Never put it on a query whose result
+ * a request may change before reading it again.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestMemoized {
+}
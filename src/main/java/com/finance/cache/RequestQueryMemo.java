@@ -0,0 +1,93 @@
+package com.finance.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results of memoized repository calls for the request bound to the current thread
+ */
+public final class RequestQueryMemo {
+
+    private static final ThreadLocal<RequestQueryMemo> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong TOTAL_SAVED = new AtomicLong();
+    private static final Object NULL_RESULT = new Object();
+
+    private final Map<List<Object>, Object> results = new ConcurrentHashMap<>();
+    private final AtomicInteger saved = new AtomicInteger();
+
+    private RequestQueryMemo() {
+    }
+
+    public static RequestQueryMemo open() {
+        RequestQueryMemo memo = new RequestQueryMemo();
+        CURRENT.set(memo);
+        return memo;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static RequestQueryMemo current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind the submitting thread's memo to a task run on another thread
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestQueryMemo memo = CURRENT.get();
+        if (memo == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryMemo previous = CURRENT.get();
+            CURRENT.set(memo);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    public static long getTotalSaved() {
+        return TOTAL_SAVED.get();
+    }
+
+    public int getSaved() {
+        return saved.get();
+    }
+
+    /**
+     * Store a result the request obtained another way, so a later getOrLoad under the key reuses it
+     */
+    public void put(List<Object> key, Object result) {
+        results.putIfAbsent(key, result != null ? result : NULL_RESULT);
+    }
+
+    /**
+     * Return the result stored under the key, or run the query and store its result.
+     * Concurrent callers with the same key may both run the query; the results are identical.
+     */
+    public Object getOrLoad(List<Object> key, Supplier<Object> query) {
+        Object cached = results.get(key);
+        if (cached != null) {
+            saved.incrementAndGet();
+            TOTAL_SAVED.incrementAndGet();
+            return cached == NULL_RESULT ? null : cached;
+        }
+
+        Object result = query.get();
+        results.putIfAbsent(key, result != null ? result : NULL_RESULT);
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.finance.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a query memo for each HTTP request and reports how many repository calls it saved.
+ * Runs ahead of the security filter chain so the user lookup of the JWT filter is memoized too.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestQueryMemoFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestQueryMemo memo = RequestQueryMemo.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryMemo.close();
+            if (log.isDebugEnabled() && memo.getSaved() > 0) {
+                log.debug("{} {} reused {} memoized queries ({} since startup)",
+                    request.getMethod(), request.getRequestURI(), memo.getSaved(), RequestQueryMemo.getTotalSaved());
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.finance.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Retries {@link RetryOnConflict} methods. Runs outside the transaction advice so that
+ * every attempt gets a fresh transaction and re-reads the rows it modifies.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    throw ex;
+                }
+                log.debug("Version conflict in {}, attempt {} of {}",
+                    joinPoint.getSignature().toShortString(), attempt, retryOnConflict.maxAttempts());
+                attempt++;
+            }
+        }
+    }
+}
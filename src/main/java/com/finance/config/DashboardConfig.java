@@ -0,0 +1,66 @@
+package com.finance.config;
+
+import com.finance.cache.RequestQueryMemo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class DashboardConfig {
+
+    /**
+     * Bounded pool computing dashboard sections concurrently.
+     * Work that does not fit is rejected; the dashboard then reports that section as missing,
+     * as a section run on the request thread could not be abandoned at its deadline.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${app.dashboard.executor.pool-size:8}") int poolSize,
+            @Value("${app.dashboard.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // Sections share the request's query memo
+        executor.setTaskDecorator(RequestQueryMemo::propagate);
+        return executor;
+    }
+
+    /**
+     * Low-priority pool precomputing dashboards of recently active users.
+     * Work that does not fit is rejected and retried on the next warm-up pass.
+     */
+    @Bean(name = "dashboardWarmupExecutor")
+    public ThreadPoolTaskExecutor dashboardWarmupExecutor(
+            @Value("${app.dashboard.warmup.concurrency:2}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("dashboard-warmup-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Declaring an executor bean disables Spring Boot's default one, so it is restored here
+     */
+    @Lazy
+    @Bean(name = {
+        TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+        AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
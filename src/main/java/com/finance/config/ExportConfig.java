@@ -0,0 +1,19 @@
+package com.finance.config;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExportConfig {
+
+    /**
+     * Off-heap memory shared by all running exports; each export takes a bounded child allocator.
+     */
+    @Bean(destroyMethod = "close")
+    public BufferAllocator exportAllocator(@Value("${app.export.max-memory-bytes:268435456}") long maxMemoryBytes) {
+        return new RootAllocator(maxMemoryBytes);
+    }
+}
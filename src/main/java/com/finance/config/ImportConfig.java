@@ -0,0 +1,28 @@
+package com.finance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Pool running statement imports. Jobs beyond the queue are rejected and marked failed.
+     */
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor(
+            @Value("${app.import.executor.pool-size:2}") int poolSize,
+            @Value("${app.import.executor.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
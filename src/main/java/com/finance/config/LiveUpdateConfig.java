@@ -0,0 +1,29 @@
+package com.finance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class LiveUpdateConfig {
+
+    /**
+     * Small pool computing and sending live updates. When it is saturated, work is rejected
+     * rather than run on the committing request's thread.
+     */
+    @Bean(name = "liveUpdateExecutor")
+    public ThreadPoolTaskExecutor liveUpdateExecutor(
+            @Value("${app.live.executor.pool-size:4}") int poolSize,
+            @Value("${app.live.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("live-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.finance.config;
+
+import com.finance.cache.ConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor)
+            .addPathPatterns(
+                "/api/accounts/**",
+                "/api/categories/**",
+                "/api/budgets/**",
+                "/api/goals/**",
+                "/api/transactions/**",
+                "/api/dashboard/**")
+            .excludePathPatterns("/api/dashboard/cache-statistics");
+    }
+}
@@ -1,20 +1,26 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.CursorPage;
+import com.finance.dto.account.AccountBalanceResponse;
 import com.finance.dto.account.AccountRequest;
 import com.finance.dto.account.AccountResponse;
 import com.finance.service.AccountService;
+import com.finance.service.LedgerService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +31,7 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final LedgerService ledgerService;
 
     @PostMapping
     @Operation(summary = "Create a new account")
@@ -55,6 +62,23 @@ public class AccountController {
         return ResponseEntity.ok(ApiResponse.success("Accounts retrieved successfully", accounts));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all accounts, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<AccountResponse>>> getAllAccountsByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<AccountResponse> accounts = accountService.getAllAccountsByCursor(authentication.getName(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Accounts retrieved successfully", accounts));
+    }
+
     @GetMapping("/active")
     @Operation(summary = "Get all active accounts")
     public ResponseEntity<ApiResponse<List<AccountResponse>>> getActiveAccounts(Authentication authentication) {
@@ -69,6 +93,26 @@ public class AccountController {
         return ResponseEntity.ok(ApiResponse.success("Total balance calculated successfully", totalBalance));
     }
 
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Get the balance of an account at the end of a given day")
+    public ResponseEntity<ApiResponse<AccountBalanceResponse>> getBalanceAsOf(
+            @PathVariable Long id,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Day of the balance (defaults to today)")
+            LocalDate date,
+
+            Authentication authentication
+    ) {
+        if (date == null) {
+            date = LocalDate.now();
+        }
+
+        AccountBalanceResponse balance = ledgerService.getBalanceAsOf(id, date, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Account balance retrieved successfully", balance));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an account")
     public ResponseEntity<ApiResponse<AccountResponse>> updateAccount(
@@ -1,10 +1,12 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.CursorPage;
 import com.finance.dto.budget.BudgetRequest;
 import com.finance.dto.budget.BudgetResponse;
 import com.finance.service.BudgetService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -54,6 +56,23 @@ public class BudgetController {
         return ResponseEntity.ok(ApiResponse.success("Budgets retrieved successfully", budgets));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all budgets, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<BudgetResponse>>> getAllBudgetsByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<BudgetResponse> budgets = budgetService.getAllBudgetsByCursor(authentication.getName(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Budgets retrieved successfully", budgets));
+    }
+
     @GetMapping("/active")
     @Operation(summary = "Get all active budgets")
     public ResponseEntity<ApiResponse<List<BudgetResponse>>> getActiveBudgets(Authentication authentication) {
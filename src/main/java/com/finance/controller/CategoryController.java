@@ -1,11 +1,13 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.CursorPage;
 import com.finance.dto.category.CategoryRequest;
 import com.finance.dto.category.CategoryResponse;
 import com.finance.entity.Category;
 import com.finance.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -55,6 +57,23 @@ public class CategoryController {
         return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all categories, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<CategoryResponse>>> getAllCategoriesByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<CategoryResponse> categories = categoryService.getAllCategoriesByCursor(authentication.getName(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+    }
+
     @GetMapping("/root")
     @Operation(summary = "Get root categories (with subcategories)")
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getRootCategories(Authentication authentication) {
@@ -1,8 +1,10 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.dashboard.CacheStatisticsResponse;
 import com.finance.dto.dashboard.CategoryStatisticsResponse;
 import com.finance.dto.dashboard.DashboardSummaryResponse;
+import com.finance.dto.dashboard.PeriodSummaryResponse;
 import com.finance.entity.Transaction.TransactionType;
 import com.finance.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -88,4 +91,40 @@ public class DashboardController {
 
         return ResponseEntity.ok(ApiResponse.success("Category statistics retrieved successfully", statistics));
     }
+
+    @GetMapping("/period-series")
+    @Operation(summary = "Get monthly income, expense and savings with period-over-period changes")
+    public ResponseEntity<ApiResponse<List<PeriodSummaryResponse>>> getPeriodSeries(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "End date of the last period (defaults to today)")
+            LocalDate endDate,
+
+            @RequestParam(defaultValue = "12")
+            @Parameter(description = "Number of consecutive monthly periods (1 to 120)")
+            int periods,
+
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Compare each month with the same month a year earlier instead of the month before")
+            boolean yearOverYear,
+
+            Authentication authentication
+    ) {
+        if (endDate == null) {
+            endDate = LocalDate.now();
+        }
+
+        List<PeriodSummaryResponse> series = dashboardService.getPeriodSeries(
+            authentication.getName(), endDate, periods, yearOverYear);
+
+        return ResponseEntity.ok(ApiResponse.success("Period series retrieved successfully", series));
+    }
+
+    @GetMapping("/cache-statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get dashboard cache hit, miss and eviction counters")
+    public ResponseEntity<ApiResponse<CacheStatisticsResponse>> getCacheStatistics() {
+        CacheStatisticsResponse statistics = dashboardService.getCacheStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", statistics));
+    }
 }
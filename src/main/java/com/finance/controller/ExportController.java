@@ -0,0 +1,37 @@
+package com.finance.controller;
+
+import com.finance.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Exports", description = "Bulk data export endpoints")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping(value = "/transactions", produces = ExportService.ARROW_STREAM)
+    @Operation(summary = "Download all transactions as an Arrow IPC stream with dictionary-encoded dimensions")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(Authentication authentication) {
+        StreamingResponseBody body = exportService.exportTransactions(authentication.getName());
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(ExportService.ARROW_STREAM))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("transactions.arrows").build().toString())
+            .body(body);
+    }
+}
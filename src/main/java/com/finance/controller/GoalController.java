@@ -1,6 +1,7 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.CursorPage;
 import com.finance.dto.goal.GoalRequest;
 import com.finance.dto.goal.GoalResponse;
 import com.finance.entity.Goal.GoalStatus;
@@ -59,6 +60,23 @@ public class GoalController {
         return ResponseEntity.ok(ApiResponse.success("Goals retrieved successfully", goals));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all goals, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<GoalResponse>>> getAllGoalsByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<GoalResponse> goals = goalService.getAllGoalsByCursor(authentication.getName(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Goals retrieved successfully", goals));
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get goals by status")
     public ResponseEntity<ApiResponse<List<GoalResponse>>> getGoalsByStatus(
@@ -0,0 +1,75 @@
+package com.finance.controller;
+
+import com.finance.dto.ApiResponse;
+import com.finance.dto.importer.ImportJobResponse;
+import com.finance.entity.ImportJob.ImportFormat;
+import com.finance.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Imports", description = "Bank statement import endpoints")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload a CSV, OFX or QIF statement and import it in the background")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> startImport(
+            @RequestParam("file") MultipartFile file,
+
+            @RequestParam
+            @Parameter(description = "Account receiving the imported transactions")
+            Long accountId,
+
+            @RequestParam
+            @Parameter(description = "Category for imported expenses (and income when incomeCategoryId is absent)")
+            Long categoryId,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Category for imported income")
+            Long incomeCategoryId,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Statement format (detected from the file extension when absent)")
+            ImportFormat format,
+
+            Authentication authentication
+    ) {
+        ImportJobResponse job = importService.startImport(
+            file, accountId, categoryId, incomeCategoryId, format, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ApiResponse.success("Import started successfully", job));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job progress and error report")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getImportJob(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        ImportJobResponse job = importService.getImportJob(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Import job retrieved successfully", job));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all import jobs of current user")
+    public ResponseEntity<ApiResponse<List<ImportJobResponse>>> getImportJobs(Authentication authentication) {
+        List<ImportJobResponse> jobs = importService.getImportJobs(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Import jobs retrieved successfully", jobs));
+    }
+}
@@ -0,0 +1,27 @@
+package com.finance.controller;
+
+import com.finance.live.LiveUpdateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Live updates", description = "Server-sent events for balance, period and budget changes")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Open a stream of account, period and budget updates (events: account, period, budget, resync)")
+    public SseEmitter stream(Authentication authentication) {
+        return liveUpdateService.subscribe(authentication.getName());
+    }
+}
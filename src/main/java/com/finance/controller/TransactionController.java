@@ -1,10 +1,15 @@
 package com.finance.controller;
 
 import com.finance.dto.ApiResponse;
+import com.finance.dto.CursorPage;
+import com.finance.dto.transaction.BatchOperationResult;
+import com.finance.dto.transaction.BatchTransactionRequest;
+import com.finance.dto.transaction.PayeeSuggestionResponse;
 import com.finance.dto.transaction.TransactionRequest;
 import com.finance.dto.transaction.TransactionResponse;
 import com.finance.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,9 +20,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,6 +36,8 @@ import java.util.List;
 @Tag(name = "Transactions", description = "Transaction management endpoints")
 public class TransactionController {
 
+    static final String NDJSON = "application/x-ndjson";
+
     private final TransactionService transactionService;
 
     @PostMapping
@@ -43,6 +52,16 @@ public class TransactionController {
             .body(ApiResponse.success("Transaction created successfully", transaction));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create, update and delete transactions in one all-or-nothing batch")
+    public ResponseEntity<ApiResponse<List<BatchOperationResult>>> applyBatch(
+            @Valid @RequestBody BatchTransactionRequest request,
+            Authentication authentication
+    ) {
+        List<BatchOperationResult> results = transactionService.applyBatch(request, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Batch applied successfully", results));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get transaction by ID")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(
@@ -63,6 +82,25 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all transactions, newest first, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> getAllTransactionsByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<TransactionResponse> transactions = transactionService.getAllTransactionsByCursor(
+            authentication.getName(), cursor, size
+        );
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
+    }
+
     @GetMapping("/account/{accountId}")
     @Operation(summary = "Get transactions by account (paginated)")
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getTransactionsByAccount(
@@ -76,6 +114,27 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
     }
 
+    @GetMapping("/account/{accountId}/cursor")
+    @Operation(summary = "Get transactions by account, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> getTransactionsByAccountByCursor(
+            @PathVariable Long accountId,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<TransactionResponse> transactions = transactionService.getTransactionsByAccountByCursor(
+            accountId, authentication.getName(), cursor, size
+        );
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
+    }
+
     @GetMapping("/date-range")
     @Operation(summary = "Get transactions by date range")
     public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByDateRange(
@@ -89,6 +148,21 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
     }
 
+    @GetMapping(value = "/date-range", produces = TransactionController.NDJSON)
+    @Operation(summary = "Stream transactions by date range as newline-delimited JSON, oldest first")
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication
+    ) {
+        StreamingResponseBody body = transactionService.streamTransactionsByDateRange(
+            authentication.getName(), startDate, endDate
+        );
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(body);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search transactions by keyword")
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> searchTransactions(
@@ -102,6 +176,46 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
     }
 
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search transactions by keyword, one keyset-paginated slice at a time")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> searchTransactionsByCursor(
+            @RequestParam String keyword,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Continuation token from the previous slice (omit for the first one)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Slice size (1 to 100)")
+            int size,
+
+            Authentication authentication
+    ) {
+        CursorPage<TransactionResponse> transactions = transactionService.searchTransactionsByCursor(
+            authentication.getName(), keyword, cursor, size
+        );
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
+    }
+
+    @GetMapping("/payees/suggest")
+    @Operation(summary = "Suggest the most used payees starting with a prefix")
+    public ResponseEntity<ApiResponse<List<PayeeSuggestionResponse>>> suggestPayees(
+            @RequestParam(defaultValue = "")
+            @Parameter(description = "Beginning of the payee name, case-insensitive")
+            String prefix,
+
+            @RequestParam(defaultValue = "10")
+            @Parameter(description = "Maximum number of suggestions (1 to 50)")
+            int limit,
+
+            Authentication authentication
+    ) {
+        List<PayeeSuggestionResponse> suggestions = transactionService.suggestPayees(
+            authentication.getName(), prefix, limit
+        );
+        return ResponseEntity.ok(ApiResponse.success("Payee suggestions retrieved successfully", suggestions));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a transaction")
     public ResponseEntity<ApiResponse<TransactionResponse>> updateTransaction(
@@ -0,0 +1,34 @@
+package com.finance.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of a keyset-paginated listing. {@code nextCursor} is null on the last slice;
+ * no total count is computed.
+ */
+public record CursorPage<T>(
+    List<T> content,
+    int size,
+    String nextCursor
+) {
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Build a slice from up to {@code size + 1} rows; the extra row only signals that more follow
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int size,
+            Function<E, T> mapper,
+            Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(slice.get(slice.size() - 1)) : null;
+        return new CursorPage<>(slice.stream().map(mapper).toList(), size, nextCursor);
+    }
+}
@@ -0,0 +1,10 @@
+package com.finance.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record AccountBalanceResponse(
+    Long accountId,
+    LocalDate date,
+    BigDecimal balance
+) {}
@@ -0,0 +1,20 @@
+package com.finance.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsResponse {
+    private Integer size;
+    private Integer maxEntries;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long invalidations;
+    private Double hitRate;
+}
@@ -13,10 +13,13 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class CategoryStatisticsResponse {
     private Long categoryId;
+    private Long parentId;
     private String categoryName;
     private String categoryIcon;
     private String categoryColor;
     private BigDecimal totalAmount;
     private Integer transactionCount;
     private BigDecimal percentage;
+    private BigDecimal subtreeTotalAmount;
+    private Integer subtreeTransactionCount;
 }
@@ -22,4 +22,6 @@ public class DashboardSummaryResponse {
     private List<CategoryStatisticsResponse> topIncomeCategories;
     private List<MonthlyTrendResponse> monthlyTrends;
     private PeriodComparisonResponse periodComparison;
+    private Boolean partial;
+    private List<String> missingSections;
 }
@@ -0,0 +1,25 @@
+package com.finance.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodSummaryResponse {
+    private String month;
+    private Integer year;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal netSavings;
+
+    // Against the previous month, or the same month a year earlier
+    private String comparedMonth;
+    private Integer comparedYear;
+    private PeriodComparisonResponse comparison;
+}
@@ -0,0 +1,23 @@
+package com.finance.dto.importer;
+
+import com.finance.entity.ImportJob;
+
+import java.time.LocalDateTime;
+
+public record ImportJobResponse(
+    Long id,
+    Long accountId,
+    Long categoryId,
+    Long incomeCategoryId,
+    String fileName,
+    ImportJob.ImportFormat format,
+    ImportJob.ImportStatus status,
+    Long processedRows,
+    Long importedRows,
+    Long failedRows,
+    Long duplicateRows,
+    String errorReport,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime completedAt
+) {}
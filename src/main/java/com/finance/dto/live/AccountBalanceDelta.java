@@ -0,0 +1,8 @@
+package com.finance.dto.live;
+
+import java.math.BigDecimal;
+
+public record AccountBalanceDelta(
+    Long accountId,
+    BigDecimal balance
+) {}
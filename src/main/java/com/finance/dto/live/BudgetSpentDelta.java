@@ -0,0 +1,9 @@
+package com.finance.dto.live;
+
+import java.math.BigDecimal;
+
+public record BudgetSpentDelta(
+    Long budgetId,
+    BigDecimal amount,
+    BigDecimal spent
+) {}
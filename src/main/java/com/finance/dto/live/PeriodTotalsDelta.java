@@ -0,0 +1,10 @@
+package com.finance.dto.live;
+
+import java.math.BigDecimal;
+
+public record PeriodTotalsDelta(
+    Integer year,
+    Integer month,
+    BigDecimal income,
+    BigDecimal expense
+) {}
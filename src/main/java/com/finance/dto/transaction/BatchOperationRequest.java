@@ -0,0 +1,23 @@
+package com.finance.dto.transaction;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One step of a batch: {@code transaction} is required for CREATE and UPDATE, {@code id} for UPDATE and DELETE
+ */
+public record BatchOperationRequest(
+    @NotNull(message = "Operation is required")
+    BatchOperationType operation,
+
+    Long id,
+
+    @Valid
+    TransactionRequest transaction
+) {
+    public enum BatchOperationType {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,13 @@
+package com.finance.dto.transaction;
+
+import com.finance.dto.transaction.BatchOperationRequest.BatchOperationType;
+
+/**
+ * Outcome of one batch operation, in request order. {@code transaction} is null for a deletion.
+ */
+public record BatchOperationResult(
+    int index,
+    BatchOperationType operation,
+    Long id,
+    TransactionResponse transaction
+) {}
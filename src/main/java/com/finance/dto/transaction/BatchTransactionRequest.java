@@ -0,0 +1,13 @@
+package com.finance.dto.transaction;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchTransactionRequest(
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "A batch holds at most 500 operations")
+    List<@Valid BatchOperationRequest> operations
+) {}
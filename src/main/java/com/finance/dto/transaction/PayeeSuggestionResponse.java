@@ -0,0 +1,6 @@
+package com.finance.dto.transaction;
+
+public record PayeeSuggestionResponse(
+    String payee,
+    long usageCount
+) {}
@@ -0,0 +1,46 @@
+package com.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account at the end of a day, as seen by the database snapshot it was computed in.
+ * Ledger entries dated on or before that day but invisible to the snapshot are added on read.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_balance_snapshot", columnNames = {"account_id", "snapshot_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    // Written by the database as txid_current_snapshot()
+    @Column(name = "xact_snapshot", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "txid_snapshot not null")
+    private String xactSnapshot;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
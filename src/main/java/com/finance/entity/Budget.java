@@ -13,6 +13,7 @@ import java.time.LocalDate;
     @Index(name = "idx_budget_period", columnList = "startDate, endDate"),
     @Index(name = "idx_budget_category", columnList = "category_id")
 })
+@NamedEntityGraph(name = Budget.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,6 +21,8 @@ import java.time.LocalDate;
 @Builder
 public class Budget extends BaseEntity {
 
+    public static final String WITH_CATEGORY = "Budget.withCategory";
+
     @NotBlank
     @Column(nullable = false, length = 100)
     private String name;
@@ -0,0 +1,37 @@
+package com.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per ancestor and descendant pair of the category tree, including each category
+ * paired with itself at depth 0. Maintained by CategoryService on every tree change.
+ */
+@Entity
+@Table(name = "category_closure", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_category_closure", columnNames = {"ancestor_id", "descendant_id"})
+}, indexes = {
+    @Index(name = "idx_category_closure_descendant", columnList = "descendant_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    private Category ancestor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    private Category descendant;
+
+    @Column(nullable = false)
+    private Integer depth;
+}
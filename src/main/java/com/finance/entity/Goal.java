@@ -16,6 +16,7 @@ import java.time.temporal.ChronoUnit;
     @Index(name = "idx_goal_status", columnList = "status"),
     @Index(name = "idx_goal_user", columnList = "user_id")
 })
+@NamedEntityGraph(name = Goal.WITH_ACCOUNT, attributeNodes = @NamedAttributeNode("account"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +24,8 @@ import java.time.temporal.ChronoUnit;
 @Builder
 public class Goal extends BaseEntity {
 
+    public static final String WITH_ACCOUNT = "Goal.withAccount";
+
     @NotBlank
     @Column(nullable = false, length = 100)
     private String name;
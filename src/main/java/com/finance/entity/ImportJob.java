@@ -0,0 +1,89 @@
+package com.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bank statement upload and the progress of loading its rows as transactions
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_job_user_id", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    // Category of money going out, and of money coming in unless an income category is given
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "income_category_id")
+    private Category incomeCategory;
+
+    @Column(length = 255)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ImportFormat format;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportStatus status = ImportStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long processedRows = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long importedRows = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long failedRows = 0L;
+
+    // Rows matching a transaction already on the account, skipped
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long duplicateRows = 0L;
+
+    // One line per rejected row, capped
+    @Column(columnDefinition = "TEXT")
+    private String errorReport;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    private LocalDateTime completedAt;
+
+    public enum ImportFormat {
+        CSV,
+        OFX,
+        QIF
+    }
+
+    public enum ImportStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,61 @@
+package com.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One signed movement of an account's balance. Rows are only ever inserted: a changed or deleted
+ * transaction is recorded as a reversing entry followed, for a change, by a new one.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_account_date", columnList = "account_id, entry_date"),
+    @Index(name = "idx_ledger_account_txid", columnList = "account_id, txid")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    // Not a foreign key: the entry outlives the transaction it records
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntryKind kind;
+
+    // Database transaction that wrote the entry; lets snapshots detect entries committed after them
+    @Column(name = "txid", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default txid_current() not null")
+    private Long txid;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum EntryKind {
+        OPENING,       // Solde initial
+        TRANSACTION,   // Mouvement d'une transaction
+        ADJUSTMENT     // Correction manuelle du solde
+    }
+}
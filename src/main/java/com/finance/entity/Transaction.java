@@ -8,10 +8,19 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+// Range-partitioned by month of transactionDate (see db/migration); the indexes exist on every partition.
+// The primary key is (id, transactionDate), so lookups by id alone probe each partition's key index.
 @Table(name = "transactions", indexes = {
-    @Index(name = "idx_transaction_date", columnList = "transactionDate"),
-    @Index(name = "idx_account_id", columnList = "account_id"),
-    @Index(name = "idx_category_id", columnList = "category_id")
+    @Index(name = "idx_category_id", columnList = "category_id"),
+    // User date ranges and keyset pagination on (transactionDate, id)
+    @Index(name = "idx_transaction_user_date_id", columnList = "user_id, transactionDate, id"),
+    @Index(name = "idx_transaction_user_type_date", columnList = "user_id, type, transactionDate"),
+    @Index(name = "idx_transaction_account_date_id", columnList = "account_id, transactionDate, id")
+})
+@NamedEntityGraph(name = Transaction.WITH_DETAILS, attributeNodes = {
+    @NamedAttributeNode("account"),
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("transferAccount")
 })
 @Getter
 @Setter
@@ -20,6 +29,9 @@ import java.time.LocalDate;
 @Builder
 public class Transaction extends BaseEntity {
 
+    // Associations read by TransactionMapper
+    public static final String WITH_DETAILS = "Transaction.withDetails";
+
     @NotNull
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
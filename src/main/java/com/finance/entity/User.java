@@ -50,6 +50,11 @@ public class User extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private Boolean enabled = true;
 
+    // Bumped on every committed write to the user's data; drives ETags on read endpoints
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long dataVersion = 0L;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Account> accounts = new ArrayList<>();
 
@@ -0,0 +1,6 @@
+package com.finance.event;
+
+/**
+ * Published when an account's balance is edited directly rather than through a transaction
+ */
+public record AccountBalanceChangedEvent(Long userId, Long accountId) {}
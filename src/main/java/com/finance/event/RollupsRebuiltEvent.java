@@ -0,0 +1,6 @@
+package com.finance.event;
+
+/**
+ * Published when a user's daily rollups are recomputed from the transactions table
+ */
+public record RollupsRebuiltEvent(Long userId) {}
@@ -0,0 +1,11 @@
+package com.finance.event;
+
+/**
+ * Published by TransactionService for every transaction write.
+ * {@code before} is null for a creation and {@code after} is null for a deletion.
+ */
+public record TransactionChangedEvent(
+    Long userId,
+    TransactionSnapshot before,
+    TransactionSnapshot after
+) {}
@@ -0,0 +1,40 @@
+package com.finance.event;
+
+import com.finance.entity.Transaction;
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the fields of a transaction that derived indexes depend on
+ */
+public record TransactionSnapshot(
+    Long id,
+    Long accountId,
+    Long transferAccountId,
+    Long categoryId,
+    TransactionType type,
+    BigDecimal amount,
+    LocalDate transactionDate,
+    String description,
+    String payee,
+    String reference,
+    String notes
+) {
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+            transaction.getId(),
+            transaction.getAccount().getId(),
+            transaction.getTransferAccount() != null ? transaction.getTransferAccount().getId() : null,
+            transaction.getCategory().getId(),
+            transaction.getType(),
+            transaction.getAmount(),
+            transaction.getTransactionDate(),
+            transaction.getDescription(),
+            transaction.getPayee(),
+            transaction.getReference(),
+            transaction.getNotes()
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.finance.event;
+
+/**
+ * Published by services whenever a write changes data owned by a user
+ */
+public record UserDataChangedEvent(Long userId) {}
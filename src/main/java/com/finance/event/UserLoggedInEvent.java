@@ -0,0 +1,6 @@
+package com.finance.event;
+
+/**
+ * Published after a user authenticates with a password
+ */
+public record UserLoggedInEvent(Long userId) {}
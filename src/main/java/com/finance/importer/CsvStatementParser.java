@@ -0,0 +1,170 @@
+package com.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV with a header row naming at least a date and an amount column. Comma and semicolon
+ * delimiters are detected from the header; quoted fields may contain delimiters and line breaks.
+ */
+class CsvStatementParser implements StatementParser {
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+        Map.entry("date", "date"),
+        Map.entry("transaction_date", "date"),
+        Map.entry("transactiondate", "date"),
+        Map.entry("amount", "amount"),
+        Map.entry("montant", "amount"),
+        Map.entry("payee", "payee"),
+        Map.entry("name", "payee"),
+        Map.entry("description", "description"),
+        Map.entry("memo", "description"),
+        Map.entry("libelle", "description"),
+        Map.entry("reference", "reference"),
+        Map.entry("ref", "reference")
+    );
+
+    private long lineNumber;
+
+    @Override
+    public void parse(Reader reader, RowHandler handler) throws IOException {
+        BufferedReader input = new BufferedReader(reader);
+        lineNumber = 1;
+
+        // Excel and other Windows tools start UTF-8 exports with a byte order mark
+        input.mark(1);
+        if (input.read() != '\uFEFF') {
+            input.reset();
+        }
+
+        input.mark(8192);
+        String firstLine = input.readLine();
+        if (firstLine == null) {
+            return;
+        }
+        input.reset();
+        char delimiter = count(firstLine, ';') > count(firstLine, ',') ? ';' : ',';
+
+        List<String> header = readRecord(input, delimiter);
+        int dateColumn = -1;
+        int amountColumn = -1;
+        int payeeColumn = -1;
+        int descriptionColumn = -1;
+        int referenceColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String column = COLUMN_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                continue;
+            }
+            switch (column) {
+                case "date" -> dateColumn = i;
+                case "amount" -> amountColumn = i;
+                case "payee" -> payeeColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "reference" -> referenceColumn = i;
+                default -> { }
+            }
+        }
+        if (dateColumn < 0 || amountColumn < 0) {
+            handler.onError(1, "Header must name a date and an amount column");
+            return;
+        }
+
+        List<String> record;
+        while (true) {
+            long recordLine = lineNumber;
+            record = readRecord(input, delimiter);
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            try {
+                handler.onRow(new StatementRow(
+                    recordLine,
+                    StatementValues.parseDate(field(record, dateColumn)),
+                    StatementValues.parseAmount(field(record, amountColumn)),
+                    StatementValues.trimToNull(field(record, payeeColumn)),
+                    StatementValues.trimToNull(field(record, descriptionColumn)),
+                    StatementValues.trimToNull(field(record, referenceColumn))));
+            } catch (IllegalArgumentException ex) {
+                handler.onError(recordLine, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read one record, or null at end of input
+     */
+    private List<String> readRecord(BufferedReader input, char delimiter) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = input.read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    input.mark(1);
+                    if (input.read() == '"') {
+                        field.append('"');
+                    } else {
+                        input.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                lineNumber++;
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> record, int column) {
+        if (column < 0) {
+            return null;
+        }
+        if (column >= record.size()) {
+            throw new IllegalArgumentException("Missing column " + (column + 1));
+        }
+        return record.get(column);
+    }
+
+    private static int count(String line, char ch) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ch) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package com.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * OFX 1.x (SGML, unclosed value tags) and 2.x (XML). Only STMTTRN blocks are read; everything
+ * else, headers included, is skipped as the tags stream past.
+ */
+class OfxStatementParser implements StatementParser {
+
+    private static final int MAX_VALUE_LENGTH = 4096;
+
+    @Override
+    public void parse(Reader reader, RowHandler handler) throws IOException {
+        BufferedReader input = new BufferedReader(reader);
+        long lineNumber = 1;
+        long recordLine = 0;
+        Map<String, String> fields = null;
+        String openTag = null;
+        StringBuilder text = new StringBuilder();
+        StringBuilder tag = new StringBuilder();
+
+        int c;
+        while ((c = input.read()) != -1) {
+            char ch = (char) c;
+            if (ch == '\n') {
+                lineNumber++;
+            }
+            if (ch != '<') {
+                if (text.length() < MAX_VALUE_LENGTH) {
+                    text.append(ch);
+                }
+                continue;
+            }
+
+            // The text before a tag is the value of the previously opened one
+            if (fields != null && openTag != null) {
+                String value = text.toString().trim();
+                if (!value.isEmpty()) {
+                    fields.put(openTag, decode(value));
+                }
+            }
+            text.setLength(0);
+
+            tag.setLength(0);
+            while ((c = input.read()) != -1 && c != '>') {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                if (tag.length() < MAX_VALUE_LENGTH) {
+                    tag.append((char) c);
+                }
+            }
+            String name = tag.toString().trim().toUpperCase(Locale.ROOT);
+
+            if (name.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                recordLine = lineNumber;
+                openTag = null;
+            } else if (name.equals("/STMTTRN")) {
+                if (fields != null) {
+                    emit(recordLine, fields, handler);
+                }
+                fields = null;
+                openTag = null;
+            } else if (name.startsWith("/")) {
+                openTag = null;
+            } else {
+                openTag = name;
+            }
+        }
+    }
+
+    private void emit(long lineNumber, Map<String, String> fields, RowHandler handler) {
+        String posted = fields.get("DTPOSTED");
+        String amount = fields.get("TRNAMT");
+        if (posted == null || posted.length() < 8 || amount == null) {
+            handler.onError(lineNumber, "Transaction without DTPOSTED or TRNAMT");
+            return;
+        }
+
+        try {
+            String reference = fields.containsKey("FITID") ? fields.get("FITID") : fields.get("CHECKNUM");
+            handler.onRow(new StatementRow(
+                lineNumber,
+                StatementValues.parseDate(posted.substring(0, 8)),
+                StatementValues.parseAmount(amount),
+                StatementValues.trimToNull(fields.get("NAME")),
+                StatementValues.trimToNull(fields.get("MEMO")),
+                StatementValues.trimToNull(reference)));
+        } catch (IllegalArgumentException ex) {
+            handler.onError(lineNumber, ex.getMessage());
+        }
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+            .replace("&gt;", ">")
+            .replace("&quot;", "\"")
+            .replace("&apos;", "'")
+            .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,100 @@
+package com.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * QIF bank registers: one field per line, keyed by its first character, records ending with ^.
+ * Dates are month first, with two- or four-digit years ("1/15'24", "01/15/2024").
+ */
+class QifStatementParser implements StatementParser {
+
+    @Override
+    public void parse(Reader reader, RowHandler handler) throws IOException {
+        BufferedReader input = new BufferedReader(reader);
+        long lineNumber = 0;
+        long recordLine = 0;
+        Record record = new Record();
+
+        String line;
+        while ((line = input.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("!")) {
+                continue;
+            }
+            if (record.isEmpty()) {
+                recordLine = lineNumber;
+            }
+
+            char code = line.charAt(0);
+            String value = line.substring(1).trim();
+            switch (code) {
+                case 'D' -> record.date = value;
+                case 'T', 'U' -> record.amount = value;
+                case 'P' -> record.payee = value;
+                case 'M' -> record.memo = value;
+                case 'N' -> record.number = value;
+                case '^' -> {
+                    emit(recordLine, record, handler);
+                    record = new Record();
+                }
+                default -> { }
+            }
+        }
+
+        if (!record.isEmpty()) {
+            emit(recordLine, record, handler);
+        }
+    }
+
+    private void emit(long lineNumber, Record record, RowHandler handler) {
+        if (record.date == null || record.amount == null) {
+            handler.onError(lineNumber, "Record without date or amount");
+            return;
+        }
+
+        try {
+            BigDecimal amount = StatementValues.parseAmount(record.amount);
+            handler.onRow(new StatementRow(
+                lineNumber,
+                parseDate(record.date),
+                amount,
+                StatementValues.trimToNull(record.payee),
+                StatementValues.trimToNull(record.memo),
+                StatementValues.trimToNull(record.number)));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            handler.onError(lineNumber, ex.getMessage());
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        String[] parts = value.replace('\'', '/').replace('-', '/').replace('.', '/').split("/");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Unrecognized date '" + value + "'");
+        }
+
+        int month = Integer.parseInt(parts[0].trim());
+        int day = Integer.parseInt(parts[1].trim());
+        int year = Integer.parseInt(parts[2].trim());
+        if (year < 100) {
+            year += year >= 70 ? 1900 : 2000;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static final class Record {
+        private String date;
+        private String amount;
+        private String payee;
+        private String memo;
+        private String number;
+
+        boolean isEmpty() {
+            return date == null && amount == null && payee == null && memo == null && number == null;
+        }
+    }
+}
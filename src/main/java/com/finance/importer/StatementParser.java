@@ -0,0 +1,32 @@
+package com.finance.importer;
+
+import com.finance.entity.ImportJob.ImportFormat;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a bank statement sequentially, handing each row to the handler as soon as it is parsed
+ */
+public interface StatementParser {
+
+    void parse(Reader reader, RowHandler handler) throws IOException;
+
+    static StatementParser forFormat(ImportFormat format) {
+        return switch (format) {
+            case CSV -> new CsvStatementParser();
+            case OFX -> new OfxStatementParser();
+            case QIF -> new QifStatementParser();
+        };
+    }
+
+    interface RowHandler {
+
+        void onRow(StatementRow row);
+
+        /**
+         * A row that could not be parsed; parsing continues with the next one
+         */
+        void onError(long lineNumber, String message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.finance.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One parsed statement line. The amount is signed: positive for money in, negative for money out.
+ */
+public record StatementRow(
+    long lineNumber,
+    LocalDate date,
+    BigDecimal amount,
+    String payee,
+    String description,
+    String reference
+) {}
@@ -0,0 +1,101 @@
+package com.finance.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Lenient parsing of the amount and date notations found in bank exports
+ */
+final class StatementValues {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+        DateTimeFormatter.ofPattern("yyyyMMdd")
+    );
+
+    private StatementValues() {
+    }
+
+    /**
+     * Accepts "1234.56", "1,234.56", "1.234,56", "1 234,56", "-12,5" and "(12.50)". A lone comma or
+     * dot followed by exactly three digits ("1,234") is rejected: it reads as a thousands separator
+     * in some locales and a decimal one in others. Amounts are returned with two decimals, and an
+     * amount with non-zero digits beyond the cents is rejected rather than rounded, so the stored
+     * rows and every total derived from them agree.
+     */
+    static BigDecimal parseAmount(String value) {
+        String amount = value.trim().replace(" ", "").replace("\u00A0", "");
+        boolean negative = amount.startsWith("(") && amount.endsWith(")");
+        if (negative) {
+            amount = amount.substring(1, amount.length() - 1);
+        }
+
+        int lastComma = amount.lastIndexOf(',');
+        int lastDot = amount.lastIndexOf('.');
+        char decimal;
+        if (lastComma >= 0 && lastDot >= 0) {
+            // Both present: the last one is the decimal separator
+            decimal = lastComma > lastDot ? ',' : '.';
+        } else if (lastComma >= 0 || lastDot >= 0) {
+            char separator = lastComma >= 0 ? ',' : '.';
+            int position = Math.max(lastComma, lastDot);
+            if (amount.indexOf(separator) != position) {
+                // Repeated, so it groups thousands
+                decimal = 0;
+            } else if (amount.length() - position - 1 == 3) {
+                throw new IllegalArgumentException("Ambiguous amount '" + value
+                    + "': write the decimals explicitly, e.g. 1,234.00 or 1234");
+            } else {
+                decimal = separator;
+            }
+        } else {
+            decimal = 0;
+        }
+
+        StringBuilder normalized = new StringBuilder(amount.length());
+        for (int i = 0; i < amount.length(); i++) {
+            char ch = amount.charAt(i);
+            if (ch == decimal) {
+                normalized.append('.');
+            } else if (ch != ',' && ch != '.') {
+                normalized.append(ch);
+            }
+        }
+
+        BigDecimal parsed;
+        try {
+            parsed = new BigDecimal(normalized.toString());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Unrecognized amount '" + value + "'");
+        }
+        if (parsed.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Amount '" + value + "' has more than two decimals");
+        }
+        parsed = parsed.setScale(2);
+        return negative ? parsed.negate() : parsed;
+    }
+
+    static LocalDate parseDate(String value) {
+        String date = value.trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(date, format);
+            } catch (DateTimeParseException ignored) {
+                // Try the next notation
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date '" + value + "'");
+    }
+
+    static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,44 @@
+package com.finance.index;
+
+/**
+ * Binary indexed tree of longs: point updates and prefix sums in O(log n)
+ */
+final class FenwickTree {
+
+    private final long[] tree;
+
+    FenwickTree(int size) {
+        this.tree = new long[size + 1];
+    }
+
+    int size() {
+        return tree.length - 1;
+    }
+
+    void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sum of the values at positions 0 to index, inclusive
+     */
+    long prefixSum(int index) {
+        long sum = 0;
+        for (int i = Math.min(index + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of the values at positions from to to, inclusive
+     */
+    long rangeSum(int from, int to) {
+        if (to < from) {
+            return 0;
+        }
+        return prefixSum(to) - (from > 0 ? prefixSum(from - 1) : 0);
+    }
+}
@@ -0,0 +1,237 @@
+package com.finance.index;
+
+import com.finance.dto.transaction.PayeeSuggestionResponse;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.projection.PayeeCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Per-user trie of distinct payees weighted by how many transactions use them.
+ * Built from one grouped query on first use, kept current by committed transaction writes;
+ * the tries of the least recently active users are dropped beyond the configured user count.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayeeSuggestionIndex {
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${app.payees.max-users:10000}")
+    private int maxUsers;
+
+    private final WriteGenerations writeGenerations = new WriteGenerations();
+    // Transactions that changed the user's data and are committing, until their counts are applied
+    private final Map<Long, Integer> writesInFlight = new HashMap<>();
+    private final LinkedHashMap<Long, PayeeTrie> triesByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PayeeTrie> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    /**
+     * Most used payees starting with the prefix, ignoring case. Must run inside a transaction
+     * the first time a user is seen, as the trie is then read from the database.
+     */
+    public List<PayeeSuggestionResponse> suggest(Long userId, String prefix, int limit) {
+        PayeeTrie trie;
+        long generation = 0;
+        boolean settled = false;
+        synchronized (writeGenerations) {
+            trie = triesByUser.get(userId);
+            if (trie == null) {
+                generation = writeGenerations.begin(userId);
+                settled = !writesInFlight.containsKey(userId);
+            }
+        }
+        if (trie != null) {
+            return trie.suggest(prefix, limit);
+        }
+
+        try {
+            trie = new PayeeTrie();
+            for (PayeeCount row : transactionRepository.countPayeesByUserId(userId)) {
+                trie.add(row.payee(), row.count());
+            }
+            synchronized (writeGenerations) {
+                // Keep it only if no write was committing before or while the payees were being read;
+                // such a write may already be counted and would then be added a second time
+                if (settled && !writeGenerations.changedSince(userId, generation)) {
+                    triesByUser.put(userId, trie);
+                }
+            }
+        } finally {
+            synchronized (writeGenerations) {
+                writeGenerations.end(userId);
+            }
+        }
+        return trie.suggest(prefix, limit);
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            triesByUser.remove(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupsRebuilt(RollupsRebuiltEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * Marks the write as in flight from just before its commit until after its counts are applied
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionCommitting(TransactionChangedEvent event) {
+        Long userId = event.userId();
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            writesInFlight.merge(userId, 1, Integer::sum);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Runs after every AFTER_COMMIT listener, whether the commit succeeded or not
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (writeGenerations) {
+                    writeGenerations.recordWrite(userId);
+                    writesInFlight.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        String previousPayee = event.before() != null ? event.before().payee() : null;
+        String payee = event.after() != null ? event.after().payee() : null;
+
+        PayeeTrie trie;
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(event.userId());
+            trie = triesByUser.get(event.userId());
+        }
+        if (trie == null || Objects.equals(previousPayee, payee)) {
+            return;
+        }
+
+        if (previousPayee != null) {
+            trie.add(previousPayee, -1);
+        }
+        if (payee != null) {
+            trie.add(payee, 1);
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        // Display form and usage of the payee ending at this node, if any
+        private String payee;
+        private long count;
+        // Highest usage of any payee in this subtree, to explore the best branches first
+        private long maxCount;
+    }
+
+    private record Candidate(Node node, String payee, long priority) {}
+
+    private static final class PayeeTrie {
+
+        // Higher usage first; a finished payee before a subtree of equal weight
+        private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingLong(Candidate::priority).reversed()
+            .thenComparing(candidate -> candidate.payee() == null);
+
+        private final Node root = new Node();
+
+        synchronized void add(String payee, long delta) {
+            String display = payee.strip();
+            String key = display.toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) {
+                return;
+            }
+
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                path.add(node);
+            }
+
+            node.count = Math.max(0, node.count + delta);
+            if (node.count == 0) {
+                node.payee = null;
+            } else if (delta > 0 || node.payee == null) {
+                node.payee = display;
+            }
+
+            // Refresh subtree maxima bottom-up and drop branches left without payees
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                Node current = path.get(depth);
+                long max = current.count;
+                for (Node child : current.children.values()) {
+                    max = Math.max(max, child.maxCount);
+                }
+                current.maxCount = max;
+                if (depth > 0 && max == 0 && current.children.isEmpty()) {
+                    path.get(depth - 1).children.remove(key.charAt(depth - 1));
+                }
+            }
+        }
+
+        /**
+         * Best-first walk from the prefix node: each step expands the most used branch,
+         * so only about {@code limit} paths are visited whatever the number of payees
+         */
+        synchronized List<PayeeSuggestionResponse> suggest(String prefix, int limit) {
+            Node node = root;
+            String key = prefix.strip().toLowerCase(Locale.ROOT);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null || node.maxCount == 0) {
+                return List.of();
+            }
+
+            List<PayeeSuggestionResponse> suggestions = new ArrayList<>(limit);
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+            queue.add(new Candidate(node, null, node.maxCount));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.payee() != null) {
+                    suggestions.add(new PayeeSuggestionResponse(candidate.payee(), candidate.priority()));
+                    continue;
+                }
+                Node current = candidate.node();
+                if (current.count > 0) {
+                    queue.add(new Candidate(null, current.payee, current.count));
+                }
+                for (Node child : current.children.values()) {
+                    if (child.maxCount > 0) {
+                        queue.add(new Candidate(child, null, child.maxCount));
+                    }
+                }
+            }
+            return suggestions;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.finance.index;
+
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.repository.DailyRollupRepository;
+import com.finance.repository.projection.CategoryTotal;
+import com.finance.repository.projection.DailyTotal;
+import com.finance.repository.projection.DayRange;
+import com.finance.repository.projection.MonthlyTotal;
+import com.finance.repository.projection.TypeTotal;
+import com.finance.util.MoneyAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.ref.SoftReference;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-user in-memory index of transaction totals by day, answering range sums in O(log n).
+ * A user's series is built in the background on first access, kept current by committed
+ * transaction writes, and held through a soft reference so the GC can drop it under memory pressure.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimeSeriesIndex {
+
+    /** Room left on both sides of the known dates for back-dated and future transactions */
+    private static final int PADDING_DAYS = 366;
+
+    /** Users whose history spans more days than this are served from the rollups only */
+    private static final int MAX_DAYS = 20 * 366;
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.index.stream-threshold-rows:20000}")
+    private long streamThresholdRows;
+
+    private final Map<Long, SoftReference<UserSeries>> seriesByUser = new ConcurrentHashMap<>();
+    private final WriteGenerations writeGenerations = new WriteGenerations();
+    // Transactions that changed the user's data and are committing, until their deltas are applied
+    private final Map<Long, Integer> writesInFlight = new HashMap<>();
+    private final Set<Long> loading = ConcurrentHashMap.newKeySet();
+    private final Set<Long> unindexable = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Return the user's series if it is loaded. Otherwise start loading it and return empty,
+     * so the caller falls back to the database for this request.
+     */
+    public Optional<UserSeries> getIfWarm(Long userId) {
+        SoftReference<UserSeries> reference = seriesByUser.get(userId);
+        UserSeries series = reference != null ? reference.get() : null;
+        if (series != null) {
+            return Optional.of(series);
+        }
+        if (reference != null) {
+            // Cleared by the GC under memory pressure
+            seriesByUser.remove(userId, reference);
+        }
+
+        if (!unindexable.contains(userId) && loading.add(userId)) {
+            try {
+                dashboardExecutor.execute(() -> load(userId));
+            } catch (TaskRejectedException ex) {
+                // Retried on the next access
+                loading.remove(userId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            seriesByUser.remove(userId);
+            unindexable.remove(userId);
+        }
+    }
+
+    // Runs before the dashboard cache is invalidated, so reloads see the updated series
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupsRebuilt(RollupsRebuiltEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * Marks the write as in flight from just before its commit until after its delta is applied.
+     * A load overlapping that window may or may not see the row, so it is discarded rather than
+     * installed and then given the same delta a second time.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionCommitting(TransactionChangedEvent event) {
+        Long userId = event.userId();
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            writesInFlight.merge(userId, 1, Integer::sum);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Runs after every AFTER_COMMIT listener, whether the commit succeeded or not
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (writeGenerations) {
+                    writeGenerations.recordWrite(userId);
+                    writesInFlight.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        });
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        UserSeries series;
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(event.userId());
+            unindexable.remove(event.userId());
+            SoftReference<UserSeries> reference = seriesByUser.get(event.userId());
+            series = reference != null ? reference.get() : null;
+        }
+        if (series == null) {
+            return;
+        }
+
+        boolean applied = true;
+        if (event.before() != null) {
+            applied = series.apply(event.before(), -1);
+        }
+        if (applied && event.after() != null) {
+            applied = series.apply(event.after(), 1);
+        }
+        if (!applied) {
+            // The date falls outside the indexed span: rebuild on next access
+            invalidate(event.userId());
+        }
+    }
+
+    private void load(Long userId) {
+        long generation;
+        synchronized (writeGenerations) {
+            if (writesInFlight.containsKey(userId)) {
+                // Retried on the next access, once the commit is settled
+                loading.remove(userId);
+                return;
+            }
+            generation = writeGenerations.begin(userId);
+        }
+
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            UserSeries series = readOnly.execute(status -> readSeries(userId));
+
+            synchronized (writeGenerations) {
+                // Install only if no write started committing while the rows were being read
+                if (writeGenerations.changedSince(userId, generation)) {
+                    return;
+                }
+                if (series == null) {
+                    unindexable.add(userId);
+                } else {
+                    seriesByUser.put(userId, new SoftReference<>(series));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not load time series index for user {}", userId, ex);
+        } finally {
+            synchronized (writeGenerations) {
+                writeGenerations.end(userId);
+            }
+            loading.remove(userId);
+        }
+    }
+
+    /**
+     * Read a user's rollups into a new series, or return null if their history is too long to index.
+     * Large histories are streamed from a cursor so memory stays flat however many rows there are.
+     */
+    private UserSeries readSeries(Long userId) {
+        DayRange range = dailyRollupRepository.findDayRangeByUserId(userId);
+        UserSeries series = UserSeries.create(range, LocalDate.now());
+        if (series == null) {
+            return null;
+        }
+
+        if (range.rows() > streamThresholdRows) {
+            try (Stream<DailyTotal> rows = dailyRollupRepository.streamDailyTotalsByUserId(userId)) {
+                rows.forEach(series::add);
+            }
+        } else {
+            dailyRollupRepository.findDailyTotalsByUserId(userId).forEach(series::add);
+        }
+        return series;
+    }
+
+    /**
+     * Fenwick trees of cent totals and transaction counts per day, by type and by category and type
+     */
+    public static final class UserSeries {
+
+        private final long baseDay;
+        private final int days;
+        private final Map<TransactionType, Trees> byType = new EnumMap<>(TransactionType.class);
+        private final Map<CategoryKey, Trees> byCategory = new HashMap<>();
+
+        private UserSeries(long baseDay, int days) {
+            this.baseDay = baseDay;
+            this.days = days;
+        }
+
+        /**
+         * Empty series covering the given days and today, or null if that span is too long
+         */
+        static UserSeries create(DayRange range, LocalDate today) {
+            long firstDay = today.toEpochDay();
+            long lastDay = firstDay;
+            if (range.firstDay() != null) {
+                firstDay = Math.min(firstDay, range.firstDay().toEpochDay());
+                lastDay = Math.max(lastDay, range.lastDay().toEpochDay());
+            }
+
+            long span = lastDay - firstDay + 1 + 2L * PADDING_DAYS;
+            if (span > MAX_DAYS) {
+                return null;
+            }
+            return new UserSeries(firstDay - PADDING_DAYS, (int) span);
+        }
+
+        /**
+         * Add a rollup row read while the series is being built
+         */
+        void add(DailyTotal row) {
+            add(row.day(), row.categoryId(), row.type(), MoneyAccumulator.toCents(row.total()), row.count());
+        }
+
+        synchronized boolean apply(TransactionSnapshot transaction, int sign) {
+            long offset = transaction.transactionDate().toEpochDay() - baseDay;
+            if (offset < 0 || offset >= days) {
+                return false;
+            }
+            add(transaction.transactionDate(), transaction.categoryId(), transaction.type(),
+                sign * MoneyAccumulator.toCents(transaction.amount()), sign);
+            return true;
+        }
+
+        public synchronized List<TypeTotal> sumByType(LocalDate startDate, LocalDate endDate) {
+            int[] range = indexRange(startDate, endDate);
+            int from = range[0];
+            int to = range[1];
+
+            List<TypeTotal> totals = new ArrayList<>();
+            byType.forEach((type, trees) -> {
+                long count = trees.counts.rangeSum(from, to);
+                if (count != 0) {
+                    totals.add(new TypeTotal(type, MoneyAccumulator.fromCents(trees.cents.rangeSum(from, to)), count));
+                }
+            });
+            return totals;
+        }
+
+        /**
+         * Category totals without display fields; callers resolve names, icons and colors
+         */
+        public synchronized List<CategoryTotal> sumByCategory(LocalDate startDate, LocalDate endDate) {
+            int[] range = indexRange(startDate, endDate);
+            int from = range[0];
+            int to = range[1];
+
+            List<CategoryTotal> totals = new ArrayList<>();
+            byCategory.forEach((key, trees) -> {
+                long count = trees.counts.rangeSum(from, to);
+                if (count != 0) {
+                    totals.add(new CategoryTotal(key.categoryId(), null, null, null, key.type(),
+                        MoneyAccumulator.fromCents(trees.cents.rangeSum(from, to)), count));
+                }
+            });
+            return totals;
+        }
+
+        public synchronized List<MonthlyTotal> sumByMonth(LocalDate startDate, LocalDate endDate) {
+            List<MonthlyTotal> totals = new ArrayList<>();
+            YearMonth month = YearMonth.from(startDate);
+            YearMonth lastMonth = YearMonth.from(endDate);
+
+            while (!month.isAfter(lastMonth)) {
+                LocalDate monthStart = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+                LocalDate monthEnd = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+                int[] range = indexRange(monthStart, monthEnd);
+                int from = range[0];
+                int to = range[1];
+
+                for (Map.Entry<TransactionType, Trees> entry : byType.entrySet()) {
+                    Trees trees = entry.getValue();
+                    if (trees.counts.rangeSum(from, to) != 0) {
+                        totals.add(new MonthlyTotal(month.getYear(), month.getMonthValue(), entry.getKey(),
+                            MoneyAccumulator.fromCents(trees.cents.rangeSum(from, to))));
+                    }
+                }
+                month = month.plusMonths(1);
+            }
+            return totals;
+        }
+
+        private void add(LocalDate day, Long categoryId, TransactionType type, long cents, long count) {
+            int index = (int) (day.toEpochDay() - baseDay);
+            byType.computeIfAbsent(type, t -> new Trees(days)).add(index, cents, count);
+            byCategory.computeIfAbsent(new CategoryKey(categoryId, type), k -> new Trees(days)).add(index, cents, count);
+        }
+
+        /**
+         * Positions of an inclusive date range, clamped to the indexed span; days outside it hold
+         * no transactions, so an empty range comes back with from greater than to
+         */
+        private int[] indexRange(LocalDate startDate, LocalDate endDate) {
+            long from = Math.max(0, startDate.toEpochDay() - baseDay);
+            long to = Math.min(days - 1L, endDate.toEpochDay() - baseDay);
+            if (from > to) {
+                return new int[] {1, 0};
+            }
+            return new int[] {(int) from, (int) to};
+        }
+    }
+
+    private static final class Trees {
+
+        private final FenwickTree cents;
+        private final FenwickTree counts;
+
+        Trees(int days) {
+            this.cents = new FenwickTree(days);
+            this.counts = new FenwickTree(days);
+        }
+
+        void add(int index, long centsDelta, long countDelta) {
+            cents.add(index, centsDelta);
+            counts.add(index, countDelta);
+        }
+    }
+
+    private record CategoryKey(Long categoryId, TransactionType type) {}
+}
@@ -0,0 +1,230 @@
+package com.finance.index;
+
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.projection.TransactionFingerprintRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Per-account Bloom filters over transaction fingerprints (type, amount, date, payee and reference),
+ * used by statement imports to spot rows already on the account. A miss proves the row is new
+ * without a query; a hit may be a false positive and must be confirmed against the database.
+ * Filters are built from the account's rows on first use and receive committed single writes;
+ * bulk writes drop the user's filters. Deleted transactions stay set and only cost an extra check.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionFingerprintIndex {
+
+    // About 1% false positives while a filter holds no more than its capacity
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASH_COUNT = 7;
+    private static final long MIN_CAPACITY = 1024;
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${app.import.duplicates.max-accounts:1000}")
+    private int maxAccounts;
+
+    private final WriteGenerations writeGenerations = new WriteGenerations();
+    private final LinkedHashMap<Long, AccountFilter> filtersByAccount = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AccountFilter> eldest) {
+            return size() > maxAccounts;
+        }
+    };
+
+    /**
+     * Whether the account may already hold a transaction with this fingerprint. Must run inside
+     * a transaction the first time an account is seen, as the filter is then read from the database.
+     */
+    public boolean mightContain(Long userId, Long accountId, Fingerprint fingerprint) {
+        AccountFilter filter;
+        long generation = 0;
+        synchronized (writeGenerations) {
+            filter = filtersByAccount.get(accountId);
+            if (filter == null) {
+                generation = writeGenerations.begin(userId);
+            }
+        }
+
+        if (filter == null) {
+            try {
+                filter = readFilter(userId, accountId);
+                synchronized (writeGenerations) {
+                    // Keep it only if no write committed while the rows were being read
+                    if (!writeGenerations.changedSince(userId, generation)) {
+                        filtersByAccount.put(accountId, filter);
+                    }
+                }
+            } finally {
+                synchronized (writeGenerations) {
+                    writeGenerations.end(userId);
+                }
+            }
+        }
+        return filter.bloom().mightContain(fingerprint.hash());
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            filtersByAccount.values().removeIf(filter -> filter.userId().equals(userId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupsRebuilt(RollupsRebuiltEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionSnapshot after = event.after();
+        AccountFilter filter;
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(event.userId());
+            filter = after != null ? filtersByAccount.get(after.accountId()) : null;
+        }
+        if (filter == null) {
+            return;
+        }
+
+        Fingerprint fingerprint = Fingerprint.of(after.type(), after.amount(), after.transactionDate(),
+            after.payee(), after.reference());
+        if (!filter.bloom().add(fingerprint.hash())) {
+            // Past capacity the false positive rate climbs; rebuild with room to grow on next use
+            synchronized (writeGenerations) {
+                filtersByAccount.remove(after.accountId(), filter);
+            }
+        }
+    }
+
+    private AccountFilter readFilter(Long userId, Long accountId) {
+        long[] hashes = new long[1024];
+        int count = 0;
+        try (Stream<TransactionFingerprintRow> rows = transactionRepository.streamFingerprintsByAccountId(accountId)) {
+            Iterator<TransactionFingerprintRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionFingerprintRow row = iterator.next();
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = Fingerprint.of(row.type(), row.amount(), row.transactionDate(),
+                    row.payee(), row.reference()).hash();
+            }
+        }
+
+        BloomFilter bloom = new BloomFilter(Math.max(MIN_CAPACITY, 2L * count));
+        for (int i = 0; i < count; i++) {
+            bloom.add(hashes[i]);
+        }
+        return new AccountFilter(userId, bloom);
+    }
+
+    /**
+     * Normalized duplicate key of a transaction: amount at cent scale, payee and reference
+     * trimmed and lower-cased, with null equal to empty
+     */
+    public record Fingerprint(TransactionType type, BigDecimal amount, LocalDate date, String payee, String reference) {
+
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        public static Fingerprint of(TransactionType type, BigDecimal amount, LocalDate date,
+                                     String payee, String reference) {
+            return new Fingerprint(type, amount.abs().setScale(2, RoundingMode.HALF_UP), date,
+                normalize(payee), normalize(reference));
+        }
+
+        long hash() {
+            long hash = FNV_OFFSET;
+            hash = mix(hash, type.ordinal());
+            hash = mix(hash, amount.unscaledValue().longValue());
+            hash = mix(hash, date.toEpochDay());
+            hash = mix(hash, payee);
+            hash = mix(hash, reference);
+            // Final avalanche so both 32-bit halves are usable as independent hashes
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+
+        private static long mix(long hash, long value) {
+            return (hash ^ value) * FNV_PRIME;
+        }
+
+        private static long mix(long hash, String value) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = mix(hash, value.charAt(i));
+            }
+            // Field separator, so "ab" + "c" and "a" + "bc" differ
+            return mix(hash, -1);
+        }
+
+        private static String normalize(String value) {
+            return value != null ? value.strip().toLowerCase(Locale.ROOT) : "";
+        }
+    }
+
+    private record AccountFilter(Long userId, BloomFilter bloom) {}
+
+    private static final class BloomFilter {
+
+        private final long[] words;
+        private final int bitCount;
+        private final long capacity;
+        private long size;
+
+        BloomFilter(long capacity) {
+            this.capacity = capacity;
+            this.bitCount = (int) Math.min(Integer.MAX_VALUE - 64, capacity * BITS_PER_ENTRY);
+            this.words = new long[(bitCount + 63) / 64];
+        }
+
+        /**
+         * Set the hash's bits; false once the filter holds more entries than it was sized for
+         */
+        synchronized boolean add(long hash) {
+            for (int k = 0; k < HASH_COUNT; k++) {
+                int bit = bit(hash, k);
+                words[bit >>> 6] |= 1L << bit;
+            }
+            return ++size <= capacity;
+        }
+
+        synchronized boolean mightContain(long hash) {
+            for (int k = 0; k < HASH_COUNT; k++) {
+                int bit = bit(hash, k);
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Double hashing: the k-th probe is h1 + k * h2
+        private int bit(long hash, int k) {
+            int combined = (int) hash + k * (int) (hash >>> 32);
+            return (combined & Integer.MAX_VALUE) % bitCount;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.finance.index;
+
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.projection.TransactionText;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-user trigram index over transaction payee, description, reference and notes.
+ * A search reads the shortest posting list of the keyword's trigrams and checks each candidate,
+ * so its cost follows the rarest trigram rather than the size of the history.
+ * Indexes are built in the background on first search, kept current by committed writes,
+ * and evicted least recently used first when their total size exceeds the memory budget.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionSearchIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    // The only transaction properties a document holds
+    private static final Set<String> ORDERABLE_PROPERTIES = Set.of("transactionDate", "id");
+
+    private final TransactionRepository transactionRepository;
+    private final ThreadPoolTaskExecutor dashboardWarmupExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    // Approximate bytes held by all user indexes together
+    @Value("${app.search.index.max-bytes:104857600}")
+    private long maxBytes;
+
+    private final LinkedHashMap<Long, UserTextIndex> indexesByUser = new LinkedHashMap<>(16, 0.75f, true);
+    private final WriteGenerations writeGenerations = new WriteGenerations();
+    private final Set<Long> loading = ConcurrentHashMap.newKeySet();
+    private final Set<Long> unindexable = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether search can return matches in this order, which must only use transactionDate and id
+     */
+    public static boolean canOrderBy(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!ORDERABLE_PROPERTIES.contains(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The user's transactions containing the keyword, in the given order (see canOrderBy). Empty when
+     * the index is not loaded yet; loading then starts and the caller falls back to the database.
+     */
+    public Optional<List<Match>> search(Long userId, String keyword, Sort sort) {
+        UserTextIndex index;
+        synchronized (writeGenerations) {
+            index = indexesByUser.get(userId);
+        }
+        if (index != null) {
+            List<Match> matches = index.search(normalize(keyword));
+            matches.sort(comparator(sort));
+            return Optional.of(matches);
+        }
+
+        if (!unindexable.contains(userId) && loading.add(userId)) {
+            try {
+                dashboardWarmupExecutor.execute(() -> load(userId));
+            } catch (TaskRejectedException ex) {
+                loading.remove(userId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(userId);
+            indexesByUser.remove(userId);
+            unindexable.remove(userId);
+        }
+    }
+
+    // Bulk writes (imports, account deletions) rebuild the rollups; the index is rebuilt with them
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupsRebuilt(RollupsRebuiltEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        UserTextIndex index;
+        synchronized (writeGenerations) {
+            writeGenerations.recordWrite(event.userId());
+            unindexable.remove(event.userId());
+            index = indexesByUser.get(event.userId());
+        }
+        if (index == null) {
+            return;
+        }
+
+        if (event.before() != null) {
+            index.remove(event.before().id());
+        }
+        if (event.after() != null) {
+            index.add(toDocument(event.after()));
+        }
+        evictOverBudget();
+    }
+
+    private void load(Long userId) {
+        long generation;
+        synchronized (writeGenerations) {
+            generation = writeGenerations.begin(userId);
+        }
+
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            UserTextIndex index = readOnly.execute(status -> readIndex(userId));
+
+            synchronized (writeGenerations) {
+                // Install only if no write committed while the rows were being read
+                if (writeGenerations.changedSince(userId, generation)) {
+                    return;
+                }
+                if (index == null) {
+                    unindexable.add(userId);
+                    return;
+                }
+                indexesByUser.put(userId, index);
+            }
+            evictOverBudget();
+        } catch (RuntimeException ex) {
+            log.warn("Could not load search index for user {}", userId, ex);
+        } finally {
+            synchronized (writeGenerations) {
+                writeGenerations.end(userId);
+            }
+            loading.remove(userId);
+        }
+    }
+
+    /**
+     * Stream the user's transaction texts into a new index, or return null if it alone would exceed the budget
+     */
+    private UserTextIndex readIndex(Long userId) {
+        UserTextIndex index = new UserTextIndex();
+        try (Stream<TransactionText> rows = transactionRepository.streamTextsByUserId(userId)) {
+            Iterator<TransactionText> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                index.add(toDocument(iterator.next()));
+                if (index.bytes() > maxBytes) {
+                    log.info("Search index for user {} exceeds the memory budget; using database search", userId);
+                    return null;
+                }
+            }
+        }
+        return index;
+    }
+
+    private void evictOverBudget() {
+        synchronized (writeGenerations) {
+            long total = 0;
+            for (UserTextIndex index : indexesByUser.values()) {
+                total += index.bytes();
+            }
+            // Iteration order is least recently searched first
+            Iterator<UserTextIndex> eldest = indexesByUser.values().iterator();
+            while (total > maxBytes && eldest.hasNext()) {
+                total -= eldest.next().bytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    private static Comparator<Match> comparator(Sort sort) {
+        Comparator<Match> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Match> byProperty = "id".equals(order.getProperty())
+                ? Comparator.comparingLong(Match::id)
+                : Comparator.comparingLong(Match::epochDay);
+            comparator = comparator.thenComparing(order.isDescending() ? byProperty.reversed() : byProperty);
+        }
+        return comparator;
+    }
+
+    private static Document toDocument(TransactionText text) {
+        return new Document(text.id(), text.transactionDate().toEpochDay(), normalize(text.payee()),
+            normalize(text.description()), normalize(text.reference()), normalize(text.notes()));
+    }
+
+    private static Document toDocument(TransactionSnapshot snapshot) {
+        return new Document(snapshot.id(), snapshot.transactionDate().toEpochDay(), normalize(snapshot.payee()),
+            normalize(snapshot.description()), normalize(snapshot.reference()), normalize(snapshot.notes()));
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Lower-cased searchable fields of one transaction
+     */
+    private record Document(long id, long epochDay, String payee, String description, String reference, String notes) {
+
+        String[] fields() {
+            return new String[] {payee, description, reference, notes};
+        }
+
+        /**
+         * Whether any field contains the keyword, as the database LIKE search would find it
+         */
+        boolean contains(String keyword) {
+            for (String field : fields()) {
+                if (field != null && field.contains(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long bytes() {
+            long bytes = 64;
+            for (String field : fields()) {
+                bytes += field != null ? 40 + 2L * field.length() : 0;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Documents by id plus append-only posting lists of ids by trigram. Removed or replaced
+     * documents leave stale postings behind; candidates are always checked against the live
+     * document, and postings are rebuilt once stale entries outnumber live ones.
+     */
+    private static final class UserTextIndex {
+
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private long postingCount;
+        private long livePostingCount;
+        private long documentBytes;
+
+        synchronized void add(Document document) {
+            removeDocument(document.id());
+            documents.put(document.id(), document);
+            documentBytes += document.bytes();
+            livePostingCount += index(document);
+        }
+
+        synchronized void remove(long id) {
+            removeDocument(id);
+            if (postingCount > 2 * livePostingCount + 1024) {
+                rebuildPostings();
+            }
+        }
+
+        synchronized List<Match> search(String keyword) {
+            Postings shortest = null;
+            for (int i = 0; i + MIN_QUERY_LENGTH <= keyword.length(); i++) {
+                Postings list = postings.get(trigram(keyword, i));
+                if (list == null) {
+                    return List.of();
+                }
+                if (shortest == null || list.size < shortest.size) {
+                    shortest = list;
+                }
+            }
+            if (shortest == null) {
+                return List.of();
+            }
+
+            Set<Long> seen = new HashSet<>();
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (document != null && document.contains(keyword)) {
+                    matches.add(new Match(id, document.epochDay()));
+                }
+            }
+            return matches;
+        }
+
+        synchronized long bytes() {
+            return documentBytes + 8 * postingCount + 64L * postings.size();
+        }
+
+        private void removeDocument(long id) {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                documentBytes -= previous.bytes();
+                livePostingCount -= distinctTrigrams(previous).size();
+            }
+        }
+
+        private int index(Document document) {
+            Set<Long> trigrams = distinctTrigrams(document);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(document.id());
+            }
+            postingCount += trigrams.size();
+            return trigrams.size();
+        }
+
+        private void rebuildPostings() {
+            postings.clear();
+            postingCount = 0;
+            livePostingCount = 0;
+            for (Document document : documents.values()) {
+                livePostingCount += index(document);
+            }
+        }
+
+        private static Set<Long> distinctTrigrams(Document document) {
+            Set<Long> trigrams = new HashSet<>();
+            for (String field : document.fields()) {
+                if (field == null) {
+                    continue;
+                }
+                for (int i = 0; i + MIN_QUERY_LENGTH <= field.length(); i++) {
+                    trigrams.add(trigram(field, i));
+                }
+            }
+            return trigrams;
+        }
+    }
+
+    public record Match(long id, long epochDay) {}
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.finance.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts each user's writes while their data is being read into an index, so the reader can tell
+ * whether a write raced it. Only users with a read in progress hold an entry.
+ * Not thread-safe: callers synchronize on this object, which also guards their index maps.
+ */
+final class WriteGenerations {
+
+    private final Map<Long, Watch> watchesByUser = new HashMap<>();
+
+    /**
+     * Start a read of the user's data and return the generation to check it against.
+     * Every call must be paired with end once the read is installed or discarded.
+     */
+    long begin(Long userId) {
+        Watch watch = watchesByUser.computeIfAbsent(userId, id -> new Watch());
+        watch.readers++;
+        return watch.writes;
+    }
+
+    void recordWrite(Long userId) {
+        Watch watch = watchesByUser.get(userId);
+        if (watch != null) {
+            watch.writes++;
+        }
+    }
+
+    /**
+     * Whether a write was recorded for the user since begin returned the generation
+     */
+    boolean changedSince(Long userId, long generation) {
+        return watchesByUser.get(userId).writes != generation;
+    }
+
+    void end(Long userId) {
+        Watch watch = watchesByUser.get(userId);
+        if (--watch.readers == 0) {
+            watchesByUser.remove(userId);
+        }
+    }
+
+    private static final class Watch {
+        private int readers;
+        private long writes;
+    }
+}
@@ -0,0 +1,149 @@
+package com.finance.live;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One open event stream. Events waiting to be sent are keyed by what they describe, so a newer
+ * state replaces an unsent older one; a connection that falls too far behind is told to resync.
+ * At most one flush per connection runs at a time.
+ */
+final class LiveConnection {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int maxPending;
+
+    // Guarded by this
+    private final Map<String, PendingEvent> pending = new LinkedHashMap<>();
+    private boolean resyncDue;
+    private boolean heartbeatDue;
+    private boolean flushScheduled;
+    private boolean closed;
+
+    LiveConnection(Long userId, SseEmitter emitter, int maxPending) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.maxPending = maxPending;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queue the latest state for a key.
+     *
+     * @return true if the caller must schedule a flush
+     */
+    synchronized boolean offer(String key, String name, Object data) {
+        if (closed) {
+            return false;
+        }
+        if (!resyncDue) {
+            pending.remove(key);
+            pending.put(key, new PendingEvent(name, data));
+            if (pending.size() > maxPending) {
+                // Too far behind: the client reloads instead of replaying every state
+                pending.clear();
+                resyncDue = true;
+            }
+        }
+        return claimFlush();
+    }
+
+    /**
+     * @return true if the caller must schedule a flush
+     */
+    synchronized boolean offerHeartbeat() {
+        if (closed) {
+            return false;
+        }
+        heartbeatDue = true;
+        return claimFlush();
+    }
+
+    /**
+     * Drop queued states and tell the client to reload, for changes that cannot be sent as deltas.
+     *
+     * @return true if the caller must schedule a flush
+     */
+    synchronized boolean requestResync() {
+        if (closed) {
+            return false;
+        }
+        pending.clear();
+        resyncDue = true;
+        return claimFlush();
+    }
+
+    synchronized void flushRejected() {
+        flushScheduled = false;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    /**
+     * Send everything queued, repeating until nothing new arrived during the last send
+     */
+    void flush() {
+        while (true) {
+            List<PendingEvent> batch;
+            boolean resync;
+            boolean heartbeat;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !resyncDue && !heartbeatDue)) {
+                    flushScheduled = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                resync = resyncDue;
+                heartbeat = heartbeatDue;
+                resyncDue = false;
+                heartbeatDue = false;
+            }
+
+            try {
+                if (resync) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                }
+                for (PendingEvent event : batch) {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                }
+                if (heartbeat && batch.isEmpty() && !resync) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+                emitter.completeWithError(ex);
+                return;
+            }
+        }
+    }
+
+    private boolean claimFlush() {
+        if (flushScheduled) {
+            return false;
+        }
+        flushScheduled = true;
+        return true;
+    }
+
+    private record PendingEvent(String name, Object data) {}
+}
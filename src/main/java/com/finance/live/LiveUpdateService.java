@@ -0,0 +1,309 @@
+package com.finance.live;
+
+import com.finance.dto.live.AccountBalanceDelta;
+import com.finance.dto.live.BudgetSpentDelta;
+import com.finance.dto.live.PeriodTotalsDelta;
+import com.finance.entity.Account;
+import com.finance.entity.Budget;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.entity.User;
+import com.finance.event.AccountBalanceChangedEvent;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.exception.ResourceNotFoundException;
+import com.finance.repository.AccountRepository;
+import com.finance.repository.BudgetRepository;
+import com.finance.repository.DailyRollupRepository;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.UserRepository;
+import com.finance.repository.projection.TypeTotal;
+import com.finance.util.MoneyAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Pushes compact state changes to each user's open event streams after their transactions commit.
+ * Streams are asynchronous requests, so idle connections hold no thread; sends run on a small
+ * shared pool and a slow client only delays its own stream. Changes are merged per user and
+ * published by one task per user at a time, so states are always read and offered in commit order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveUpdateService {
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final ThreadPoolTaskExecutor liveUpdateExecutor;
+
+    @Value("${app.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.live.max-pending-events:64}")
+    private int maxPendingEvents;
+
+    @Value("${app.live.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    private final Map<Long, Set<LiveConnection>> connectionsByUser = new ConcurrentHashMap<>();
+
+    // Changes not yet published; an entry exists exactly while a publish task for the user is scheduled or running
+    private final Map<Long, PendingChanges> pendingByUser = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        LiveConnection connection = new LiveConnection(user.getId(), emitter, maxPendingEvents);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(ex -> remove(connection));
+
+        Set<LiveConnection> connections = connectionsByUser.compute(user.getId(), (id, existing) -> {
+            Set<LiveConnection> updated = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+
+        // Abandoned tabs should not pile up: close the surplus
+        Iterator<LiveConnection> iterator = connections.iterator();
+        while (connections.size() > maxConnectionsPerUser && iterator.hasNext()) {
+            LiveConnection oldest = iterator.next();
+            if (oldest != connection) {
+                remove(oldest);
+                oldest.getEmitter().complete();
+            }
+        }
+
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> {
+            if (connection.offerHeartbeat()) {
+                scheduleFlush(connection);
+            }
+        }));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        enqueue(event.userId(), changes -> changes.add(event));
+    }
+
+    @TransactionalEventListener
+    public void onAccountBalanceChanged(AccountBalanceChangedEvent event) {
+        enqueue(event.userId(), changes -> changes.accountIds.add(event.accountId()));
+    }
+
+    /**
+     * Imports and account deletions rewrite many rows at once without per-transaction events,
+     * so the user's clients reload instead of receiving deltas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupsRebuilt(RollupsRebuiltEvent event) {
+        requestResync(event.userId());
+    }
+
+    private void enqueue(Long userId, Consumer<PendingChanges> change) {
+        if (!connectionsByUser.containsKey(userId)) {
+            return;
+        }
+
+        boolean[] schedule = new boolean[1];
+        pendingByUser.compute(userId, (id, pending) -> {
+            schedule[0] = pending == null;
+            PendingChanges changes = pending != null ? pending : new PendingChanges();
+            change.accept(changes);
+            return changes;
+        });
+        if (schedule[0]) {
+            schedulePublish(userId);
+        }
+    }
+
+    private void schedulePublish(Long userId) {
+        try {
+            liveUpdateExecutor.execute(() -> publishPending(userId));
+        } catch (TaskRejectedException ex) {
+            // The changes cannot be sent as deltas, so the user's clients reload instead
+            pendingByUser.remove(userId);
+            requestResync(userId);
+        }
+    }
+
+    /**
+     * Publish the user's merged changes until none are left. Values are read when published, after
+     * every commit merged so far, so a later batch never carries older states than an earlier one.
+     */
+    private void publishPending(Long userId) {
+        while (true) {
+            PendingChanges[] batch = new PendingChanges[1];
+            pendingByUser.computeIfPresent(userId, (id, pending) -> {
+                if (pending.isEmpty()) {
+                    return null;
+                }
+                batch[0] = pending.take();
+                return pending;
+            });
+            if (batch[0] == null) {
+                return;
+            }
+
+            try {
+                publishDeltas(userId, batch[0]);
+            } catch (RuntimeException ex) {
+                log.warn("Could not publish live updates for user {}", userId, ex);
+                requestResync(userId);
+            }
+        }
+    }
+
+    private void publishDeltas(Long userId, PendingChanges changes) {
+        for (Account account : accountRepository.findAllById(changes.accountIds)) {
+            broadcast(userId, "account:" + account.getId(), "account",
+                new AccountBalanceDelta(account.getId(), account.getBalance()));
+        }
+
+        if (changes.currentMonthChanged) {
+            YearMonth currentMonth = YearMonth.now();
+            MoneyAccumulator income = new MoneyAccumulator();
+            MoneyAccumulator expense = new MoneyAccumulator();
+            for (TypeTotal row : dailyRollupRepository.sumByTypeForUserAndDateRange(
+                    userId, currentMonth.atDay(1), currentMonth.atEndOfMonth())) {
+                if (row.type() == TransactionType.INCOME) {
+                    income.add(row.total());
+                } else if (row.type() == TransactionType.EXPENSE) {
+                    expense.add(row.total());
+                }
+            }
+            broadcast(userId, "period", "period", new PeriodTotalsDelta(
+                currentMonth.getYear(), currentMonth.getMonthValue(), income.total(), expense.total()));
+        }
+
+        Map<Long, Budget> budgets = new HashMap<>();
+        changes.datesByCategory.forEach((categoryId, dates) -> dates.forEach(date ->
+            budgetRepository.findByUserIdAndCategoryIdAndDate(userId, categoryId, date)
+                .forEach(budget -> budgets.putIfAbsent(budget.getId(), budget))));
+        for (Budget budget : budgets.values()) {
+            BigDecimal spent = transactionRepository.sumAmountByCategoryIdAndDateRange(
+                budget.getCategory().getId(), budget.getStartDate(), budget.getEndDate());
+            broadcast(userId, "budget:" + budget.getId(), "budget",
+                new BudgetSpentDelta(budget.getId(), budget.getAmount(), spent != null ? spent : BigDecimal.ZERO));
+        }
+    }
+
+    private void requestResync(Long userId) {
+        Set<LiveConnection> connections = connectionsByUser.get(userId);
+        if (connections == null) {
+            return;
+        }
+        for (LiveConnection connection : connections) {
+            if (connection.requestResync()) {
+                scheduleFlush(connection);
+            }
+        }
+    }
+
+    private static Iterable<TransactionSnapshot> snapshots(TransactionChangedEvent event) {
+        return Stream.of(event.before(), event.after())
+            .filter(snapshot -> snapshot != null)
+            .toList();
+    }
+
+    private void broadcast(Long userId, String key, String name, Object data) {
+        Set<LiveConnection> connections = connectionsByUser.get(userId);
+        if (connections == null) {
+            return;
+        }
+        for (LiveConnection connection : connections) {
+            if (connection.offer(key, name, data)) {
+                scheduleFlush(connection);
+            }
+        }
+    }
+
+    private void scheduleFlush(LiveConnection connection) {
+        try {
+            liveUpdateExecutor.execute(connection::flush);
+        } catch (TaskRejectedException ex) {
+            // The next heartbeat retries; queued states keep coalescing meanwhile
+            connection.flushRejected();
+        }
+    }
+
+    private void remove(LiveConnection connection) {
+        connection.close();
+        connectionsByUser.computeIfPresent(connection.getUserId(), (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    /**
+     * Accounts, budget dates and period a user's clients have not been sent yet. Only touched
+     * inside pendingByUser's per-key compute, which serializes access.
+     */
+    private static final class PendingChanges {
+
+        private Set<Long> accountIds = new HashSet<>();
+        private Map<Long, Set<LocalDate>> datesByCategory = new HashMap<>();
+        private boolean currentMonthChanged;
+
+        void add(TransactionChangedEvent event) {
+            YearMonth currentMonth = YearMonth.now();
+            for (TransactionSnapshot transaction : snapshots(event)) {
+                accountIds.add(transaction.accountId());
+                if (transaction.transferAccountId() != null) {
+                    accountIds.add(transaction.transferAccountId());
+                }
+                datesByCategory.computeIfAbsent(transaction.categoryId(), id -> new HashSet<>())
+                    .add(transaction.transactionDate());
+                currentMonthChanged |= YearMonth.from(transaction.transactionDate()).equals(currentMonth);
+            }
+        }
+
+        boolean isEmpty() {
+            return accountIds.isEmpty() && datesByCategory.isEmpty() && !currentMonthChanged;
+        }
+
+        /**
+         * Move the changes into a new batch, leaving this one empty
+         */
+        PendingChanges take() {
+            PendingChanges batch = new PendingChanges();
+            batch.accountIds = accountIds;
+            batch.datesByCategory = datesByCategory;
+            batch.currentMonthChanged = currentMonthChanged;
+            accountIds = new HashSet<>();
+            datesByCategory = new HashMap<>();
+            currentMonthChanged = false;
+            return batch;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.finance.entity.Category;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -29,6 +30,21 @@ public class CategoryMapper {
         );
     }
 
+    /**
+     * Map the root categories of a flat list with their whole subtree, linking children
+     * in memory instead of loading each subCategories collection
+     */
+    public List<CategoryResponse> toTreeResponses(List<Category> categories) {
+        Map<Long, List<Category>> childrenByParentId = categories.stream()
+            .filter(category -> category.getParent() != null)
+            .collect(Collectors.groupingBy(category -> category.getParent().getId()));
+
+        return categories.stream()
+            .filter(category -> category.getParent() == null)
+            .map(category -> toTreeResponse(category, childrenByParentId))
+            .collect(Collectors.toList());
+    }
+
     public CategoryResponse toSimpleResponse(Category category) {
         return new CategoryResponse(
             category.getId(),
@@ -43,4 +59,21 @@ public class CategoryMapper {
             category.getUpdatedAt()
         );
     }
+
+    private CategoryResponse toTreeResponse(Category category, Map<Long, List<Category>> childrenByParentId) {
+        return new CategoryResponse(
+            category.getId(),
+            category.getName(),
+            category.getDescription(),
+            category.getType(),
+            category.getIcon(),
+            category.getColor(),
+            category.getParent() != null ? category.getParent().getId() : null,
+            childrenByParentId.getOrDefault(category.getId(), List.of()).stream()
+                .map(child -> toTreeResponse(child, childrenByParentId))
+                .collect(Collectors.toList()),
+            category.getCreatedAt(),
+            category.getUpdatedAt()
+        );
+    }
 }
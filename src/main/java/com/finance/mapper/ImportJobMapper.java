@@ -0,0 +1,29 @@
+package com.finance.mapper;
+
+import com.finance.dto.importer.ImportJobResponse;
+import com.finance.entity.ImportJob;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImportJobMapper {
+
+    public ImportJobResponse toResponse(ImportJob job) {
+        return new ImportJobResponse(
+            job.getId(),
+            job.getAccount().getId(),
+            job.getCategory().getId(),
+            job.getIncomeCategory() != null ? job.getIncomeCategory().getId() : null,
+            job.getFileName(),
+            job.getFormat(),
+            job.getStatus(),
+            job.getProcessedRows(),
+            job.getImportedRows(),
+            job.getFailedRows(),
+            job.getDuplicateRows(),
+            job.getErrorReport(),
+            job.getErrorMessage(),
+            job.getCreatedAt(),
+            job.getCompletedAt()
+        );
+    }
+}
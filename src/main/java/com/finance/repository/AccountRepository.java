@@ -1,7 +1,10 @@
 package com.finance.repository;
 
+import com.finance.cache.RequestMemoized;
 import com.finance.entity.Account;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,13 +17,24 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByUserId(Long userId);
 
+    List<Account> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
     List<Account> findByUserIdAndActive(Long userId, Boolean active);
 
     List<Account> findByUserIdAndType(Long userId, Account.AccountType type);
 
+    @RequestMemoized
     @Query("SELECT SUM(a.balance) FROM Account a WHERE a.user.id = :userId AND a.active = true")
     BigDecimal getTotalBalanceByUserId(@Param("userId") Long userId);
 
     @Query("SELECT a FROM Account a WHERE a.user.id = :userId AND a.name LIKE %:name%")
     List<Account> searchByUserIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    /**
+     * Apply a balance change in the database without reading the account first.
+     * Concurrent deltas serialize on the row lock, so none is lost.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.version = a.version + 1 WHERE a.id = :accountId")
+    void addToBalance(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
 }
@@ -0,0 +1,67 @@
+package com.finance.repository;
+
+import com.finance.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Balance at the end of :asOf. It adds three parts: the nearest snapshot on or before that day,
+     * the entries dated after the snapshot, and the entries dated on or before it that its
+     * database snapshot could not see (committed later). All parts use the (account_id, entry_date)
+     * or (account_id, txid) indexes.
+     */
+    String BALANCE_AS_OF =
+        "WITH s AS (" +
+        "  SELECT snapshot_date, balance, xact_snapshot FROM balance_snapshots " +
+        "  WHERE account_id = :accountId AND snapshot_date <= :asOf " +
+        "  ORDER BY snapshot_date DESC LIMIT 1) " +
+        "SELECT COALESCE((SELECT balance FROM s), 0) " +
+        "+ COALESCE((SELECT SUM(e.amount) FROM ledger_entries e " +
+        "  WHERE e.account_id = :accountId AND e.entry_date <= :asOf " +
+        "  AND e.entry_date > COALESCE((SELECT snapshot_date FROM s), DATE '-infinity')), 0) " +
+        "+ COALESCE((SELECT SUM(e.amount) FROM ledger_entries e CROSS JOIN s " +
+        "  WHERE e.account_id = :accountId AND e.entry_date <= s.snapshot_date " +
+        "  AND e.txid >= txid_snapshot_xmin(s.xact_snapshot) " +
+        "  AND NOT txid_visible_in_snapshot(e.txid, s.xact_snapshot)), 0)";
+
+    @Query(value = BALANCE_AS_OF, nativeQuery = true)
+    BigDecimal findBalanceAsOf(@Param("accountId") Long accountId, @Param("asOf") LocalDate asOf);
+
+    /**
+     * Compute and store the balance at the end of :asOf in one statement, so the stored value
+     * and the recorded database snapshot agree
+     */
+    @Modifying
+    @Query(value = "INSERT INTO balance_snapshots (account_id, snapshot_date, balance, xact_snapshot, created_at) " +
+                   "SELECT :accountId, :asOf, (" + BALANCE_AS_OF + "), txid_current_snapshot(), now() " +
+                   "ON CONFLICT (account_id, snapshot_date) DO NOTHING",
+           nativeQuery = true)
+    int insertSnapshot(@Param("accountId") Long accountId, @Param("asOf") LocalDate asOf);
+
+    /**
+     * Accounts with ledger entries written since their latest snapshot and no snapshot for :asOf yet
+     */
+    @Query(value = "SELECT a.id FROM accounts a " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM balance_snapshots s " +
+                   "  WHERE s.account_id = a.id AND s.snapshot_date >= :asOf) " +
+                   "AND EXISTS (SELECT 1 FROM ledger_entries e WHERE e.account_id = a.id " +
+                   "  AND e.created_at > COALESCE((SELECT MAX(s.created_at) FROM balance_snapshots s " +
+                   "  WHERE s.account_id = a.id), TIMESTAMP '-infinity')) " +
+                   "ORDER BY a.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findAccountIdsDueForSnapshot(@Param("asOf") LocalDate asOf, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM balance_snapshots WHERE account_id = :accountId", nativeQuery = true)
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
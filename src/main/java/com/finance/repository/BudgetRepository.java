@@ -1,6 +1,8 @@
 package com.finance.repository;
 
 import com.finance.entity.Budget;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,12 +14,18 @@ import java.util.List;
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
+    @EntityGraph(Budget.WITH_CATEGORY)
     List<Budget> findByUserId(Long userId);
 
+    @EntityGraph(Budget.WITH_CATEGORY)
+    List<Budget> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
+    @EntityGraph(Budget.WITH_CATEGORY)
     List<Budget> findByUserIdAndActive(Long userId, Boolean active);
 
     List<Budget> findByCategoryId(Long categoryId);
 
+    @EntityGraph(Budget.WITH_CATEGORY)
     @Query("SELECT b FROM Budget b WHERE b.user.id = :userId " +
            "AND b.startDate <= :date AND b.endDate >= :date")
     List<Budget> findActiveBudgetsByUserIdAndDate(
@@ -0,0 +1,92 @@
+package com.finance.repository;
+
+import com.finance.entity.CategoryClosure;
+import com.finance.repository.projection.SubtreeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    /**
+     * Link a new category to itself and to every ancestor of its parent, if it has one
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT ancestor_id, :categoryId, depth + 1 FROM category_closure WHERE descendant_id = :parentId " +
+                   "UNION ALL SELECT :categoryId, :categoryId, 0",
+           nativeQuery = true)
+    void insertLeaf(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    /**
+     * Cut a subtree from all ancestors of its root, keeping the links inside the subtree
+     */
+    @Modifying
+    @Query(value = "DELETE FROM category_closure " +
+                   "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId) " +
+                   "AND ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+           nativeQuery = true)
+    void detachSubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Link every node of a detached subtree to the new parent and all of its ancestors
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 " +
+                   "FROM category_closure above CROSS JOIN category_closure below " +
+                   "WHERE above.descendant_id = :parentId AND below.ancestor_id = :categoryId",
+           nativeQuery = true)
+    void attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM category_closure " +
+                   "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+           nativeQuery = true)
+    void deleteSubtree(@Param("categoryId") Long categoryId);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * Build the closure rows of every category that has none, walking down from the roots
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (" +
+                   "SELECT id, id, 0 FROM categories " +
+                   "UNION ALL SELECT t.ancestor_id, c.id, t.depth + 1 " +
+                   "FROM tree t JOIN categories c ON c.parent_id = t.descendant_id) " +
+                   "SELECT ancestor_id, descendant_id, depth FROM tree " +
+                   "ON CONFLICT (ancestor_id, descendant_id) DO NOTHING",
+           nativeQuery = true)
+    int insertMissing();
+
+    @Query(value = "SELECT COUNT(*) FROM categories c WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM category_closure cc WHERE cc.descendant_id = c.id AND cc.ancestor_id = c.id)",
+           nativeQuery = true)
+    long countCategoriesWithoutClosure();
+
+    /**
+     * Totals per category and type over a date range: the category's own transactions, and those
+     * of its whole subtree. Every category with transactions in its subtree gets a row.
+     */
+    @Query("SELECT new com.finance.repository.projection.SubtreeTotal(" +
+           "a.id, a.name, a.icon, a.color, a.parent.id, r.type, " +
+           "SUM(CASE WHEN cc.depth = 0 THEN r.total ELSE 0.00BD END), " +
+           "SUM(CASE WHEN cc.depth = 0 THEN r.transactionCount ELSE 0L END), " +
+           "SUM(r.total), SUM(r.transactionCount)) " +
+           "FROM DailyRollup r JOIN CategoryClosure cc ON cc.descendant = r.category JOIN cc.ancestor a " +
+           "WHERE r.user.id = :userId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.id, a.name, a.icon, a.color, a.parent.id, r.type")
+    List<SubtreeTotal> sumSubtreesForUserAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+}
@@ -1,6 +1,7 @@
 package com.finance.repository;
 
 import com.finance.entity.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     List<Category> findByUserId(Long userId);
 
+    List<Category> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
     List<Category> findByUserIdAndType(Long userId, Category.CategoryType type);
 
     List<Category> findByUserIdAndParentIsNull(Long userId);
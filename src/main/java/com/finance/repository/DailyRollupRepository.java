@@ -0,0 +1,130 @@
+package com.finance.repository;
+
+import com.finance.cache.RequestMemoized;
+import com.finance.entity.DailyRollup;
+import com.finance.repository.projection.CategoryTotal;
+import com.finance.repository.projection.DailyTotal;
+import com.finance.repository.projection.DayRange;
+import com.finance.repository.projection.MonthlyTotal;
+import com.finance.repository.projection.TypeTotal;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_rollups (user_id, rollup_date, category_id, type, total, transaction_count) " +
+                   "VALUES (:userId, :rollupDate, :categoryId, :type, :amount, :count) " +
+                   "ON CONFLICT (user_id, rollup_date, category_id, type) DO UPDATE SET " +
+                   "total = daily_rollups.total + EXCLUDED.total, " +
+                   "transaction_count = daily_rollups.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("userId") Long userId,
+        @Param("rollupDate") LocalDate rollupDate,
+        @Param("categoryId") Long categoryId,
+        @Param("type") String type,
+        @Param("amount") BigDecimal amount,
+        @Param("count") long count
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_rollups WHERE user_id = :userId AND rollup_date = :rollupDate " +
+                   "AND category_id = :categoryId AND type = :type AND transaction_count = 0",
+           nativeQuery = true)
+    void deleteIfEmpty(
+        @Param("userId") Long userId,
+        @Param("rollupDate") LocalDate rollupDate,
+        @Param("categoryId") Long categoryId,
+        @Param("type") String type
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_rollups WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_rollups (user_id, rollup_date, category_id, type, total, transaction_count) " +
+                   "SELECT t.user_id, t.transaction_date, t.category_id, t.type, SUM(t.amount), COUNT(*) " +
+                   "FROM transactions t WHERE t.user_id = :userId " +
+                   "GROUP BY t.user_id, t.transaction_date, t.category_id, t.type",
+           nativeQuery = true)
+    int insertFromTransactions(@Param("userId") Long userId);
+
+    @Query(value = "SELECT DISTINCT t.user_id FROM transactions t WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM daily_rollups r WHERE r.user_id = t.user_id)",
+           nativeQuery = true)
+    List<Long> findUserIdsWithoutRollups();
+
+    @Query("SELECT new com.finance.repository.projection.DailyTotal(" +
+           "r.rollupDate, r.category.id, r.type, r.total, r.transactionCount) " +
+           "FROM DailyRollup r WHERE r.user.id = :userId")
+    List<DailyTotal> findDailyTotalsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Same rows as findDailyTotalsByUserId, fetched in batches from a server-side cursor.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.finance.repository.projection.DailyTotal(" +
+           "r.rollupDate, r.category.id, r.type, r.total, r.transactionCount) " +
+           "FROM DailyRollup r WHERE r.user.id = :userId")
+    Stream<DailyTotal> streamDailyTotalsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.finance.repository.projection.DayRange(" +
+           "MIN(r.rollupDate), MAX(r.rollupDate), COUNT(r)) " +
+           "FROM DailyRollup r WHERE r.user.id = :userId")
+    DayRange findDayRangeByUserId(@Param("userId") Long userId);
+
+    @RequestMemoized
+    @Query("SELECT new com.finance.repository.projection.TypeTotal(r.type, SUM(r.total), SUM(r.transactionCount)) " +
+           "FROM DailyRollup r WHERE r.user.id = :userId " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.type")
+    List<TypeTotal> sumByTypeForUserAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @RequestMemoized
+    @Query("SELECT new com.finance.repository.projection.CategoryTotal(" +
+           "c.id, c.name, c.icon, c.color, r.type, SUM(r.total), SUM(r.transactionCount)) " +
+           "FROM DailyRollup r JOIN r.category c WHERE r.user.id = :userId " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY c.id, c.name, c.icon, c.color, r.type")
+    List<CategoryTotal> sumByCategoryForUserAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @RequestMemoized
+    @Query("SELECT new com.finance.repository.projection.MonthlyTotal(" +
+           "YEAR(r.rollupDate), MONTH(r.rollupDate), r.type, SUM(r.total)) " +
+           "FROM DailyRollup r WHERE r.user.id = :userId " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(r.rollupDate), MONTH(r.rollupDate), r.type")
+    List<MonthlyTotal> sumByMonthForUserAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+}
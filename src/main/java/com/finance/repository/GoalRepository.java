@@ -2,6 +2,8 @@ package com.finance.repository;
 
 import com.finance.entity.Goal;
 import com.finance.entity.Goal.GoalStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,16 +15,24 @@ import java.util.List;
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
 
+    @EntityGraph(Goal.WITH_ACCOUNT)
     List<Goal> findByUserId(Long userId);
 
+    @EntityGraph(Goal.WITH_ACCOUNT)
+    List<Goal> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
+    @EntityGraph(Goal.WITH_ACCOUNT)
     List<Goal> findByUserIdAndStatus(Long userId, GoalStatus status);
 
+    @EntityGraph(Goal.WITH_ACCOUNT)
     List<Goal> findByUserIdOrderByTargetDateAsc(Long userId);
 
+    @EntityGraph(Goal.WITH_ACCOUNT)
     @Query("SELECT g FROM Goal g WHERE g.user.id = :userId AND g.status = 'IN_PROGRESS' " +
            "ORDER BY g.priority DESC, g.targetDate ASC")
     List<Goal> findActiveGoalsByUserIdOrderedByPriority(@Param("userId") Long userId);
 
+    @EntityGraph(Goal.WITH_ACCOUNT)
     @Query("SELECT g FROM Goal g WHERE g.user.id = :userId AND g.targetDate < :date " +
            "AND g.status = 'IN_PROGRESS'")
     List<Goal> findOverdueGoalsByUserId(@Param("userId") Long userId, @Param("date") LocalDate date);
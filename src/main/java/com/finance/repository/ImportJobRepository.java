@@ -0,0 +1,64 @@
+package com.finance.repository;
+
+import com.finance.entity.ImportJob;
+import com.finance.entity.ImportJob.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ImportJob j WHERE j.account.id = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Jobs filing into the category or any category below it, which are deleted along with it
+     */
+    @Modifying
+    @Query("DELETE FROM ImportJob j WHERE j.category.id IN " +
+           "(SELECT c.descendant.id FROM CategoryClosure c WHERE c.ancestor.id = :categoryId) " +
+           "OR j.incomeCategory.id IN " +
+           "(SELECT c.descendant.id FROM CategoryClosure c WHERE c.ancestor.id = :categoryId)")
+    void deleteByCategorySubtree(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status WHERE j.id = :id")
+    void updateStatus(@Param("id") Long id, @Param("status") ImportStatus status);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.processedRows = :processed, j.importedRows = :imported, " +
+           "j.failedRows = :failed, j.duplicateRows = :duplicates WHERE j.id = :id")
+    void updateProgress(
+        @Param("id") Long id,
+        @Param("processed") long processed,
+        @Param("imported") long imported,
+        @Param("failed") long failed,
+        @Param("duplicates") long duplicates
+    );
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.processedRows = :processed, " +
+           "j.importedRows = :imported, j.failedRows = :failed, j.duplicateRows = :duplicates, " +
+           "j.errorReport = :errorReport, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :completedAt WHERE j.id = :id")
+    void complete(
+        @Param("id") Long id,
+        @Param("status") ImportStatus status,
+        @Param("processed") long processed,
+        @Param("imported") long imported,
+        @Param("failed") long failed,
+        @Param("duplicates") long duplicates,
+        @Param("errorReport") String errorReport,
+        @Param("errorMessage") String errorMessage,
+        @Param("completedAt") LocalDateTime completedAt
+    );
+}
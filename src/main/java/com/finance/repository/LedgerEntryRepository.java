@@ -0,0 +1,47 @@
+package com.finance.repository;
+
+import com.finance.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    @Modifying
+    @Query(value = "DELETE FROM ledger_entries WHERE account_id = :accountId", nativeQuery = true)
+    void deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Query(value = "SELECT a.id FROM accounts a WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM ledger_entries e WHERE e.account_id = a.id)",
+           nativeQuery = true)
+    List<Long> findAccountIdsWithoutEntries();
+
+    /**
+     * One entry per existing transaction of the account, with the same sign rules as the balance
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ledger_entries (account_id, transaction_id, entry_date, amount, kind, created_at) " +
+                   "SELECT t.account_id, t.id, t.transaction_date, " +
+                   "CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END, 'TRANSACTION', now() " +
+                   "FROM transactions t WHERE t.account_id = :accountId",
+           nativeQuery = true)
+    int insertFromTransactions(@Param("accountId") Long accountId);
+
+    /**
+     * The part of the current balance not explained by the account's entries, dated before all of them
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ledger_entries (account_id, entry_date, amount, kind, created_at) " +
+                   "SELECT a.id, LEAST(CAST(a.created_at AS date), " +
+                   "COALESCE(MIN(e.entry_date), CAST(a.created_at AS date))), " +
+                   "a.balance - COALESCE(SUM(e.amount), 0), 'OPENING', now() " +
+                   "FROM accounts a LEFT JOIN ledger_entries e ON e.account_id = a.id " +
+                   "WHERE a.id = :accountId GROUP BY a.id, a.created_at, a.balance",
+           nativeQuery = true)
+    void insertOpeningBalance(@Param("accountId") Long accountId);
+}
@@ -1,30 +1,64 @@
 package com.finance.repository;
 
 import com.finance.entity.Transaction;
+import com.finance.repository.projection.PayeeCount;
+import com.finance.repository.projection.TransactionExportRow;
+import com.finance.repository.projection.TransactionFingerprintRow;
+import com.finance.repository.projection.TransactionText;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    @EntityGraph(Transaction.WITH_DETAILS)
     Page<Transaction> findByUserId(Long userId, Pageable pageable);
 
+    @EntityGraph(Transaction.WITH_DETAILS)
     Page<Transaction> findByAccountId(Long accountId, Pageable pageable);
 
+    @EntityGraph(Transaction.WITH_DETAILS)
     Page<Transaction> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @EntityGraph(Transaction.WITH_DETAILS)
     List<Transaction> findByUserIdAndTransactionDateBetween(
         Long userId, LocalDate startDate, LocalDate endDate
     );
 
+    /**
+     * Date range read through a server-side cursor, oldest first; close the stream when done
+     */
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.transactionDate ASC, t.id ASC")
+    Stream<Transaction> streamByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
     List<Transaction> findByAccountIdAndTransactionDateBetween(
         Long accountId, LocalDate startDate, LocalDate endDate
     );
@@ -58,12 +92,145 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("endDate") LocalDate endDate
     );
 
+    @EntityGraph(Transaction.WITH_DETAILS)
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
            "AND (LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(t.payee) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+           "OR LOWER(t.payee) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.reference) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.notes) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Transaction> searchByUserIdAndKeyword(
         @Param("userId") Long userId,
         @Param("keyword") String keyword,
         Pageable pageable
     );
+
+    // Keyset pagination, newest first. The "After" variants continue below the (date, id) of the last row seen;
+    // the bare date bound lets the planner skip the monthly partitions newer than the cursor.
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstByUserId(@Param("userId") Long userId, Limit limit);
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND t.transactionDate <= :date AND (t.transactionDate < :date OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("date") LocalDate date,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstByAccountId(@Param("accountId") Long accountId, Limit limit);
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate <= :date AND (t.transactionDate < :date OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findByAccountIdAfter(
+        @Param("accountId") Long accountId,
+        @Param("date") LocalDate date,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.payee) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.reference) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.notes) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> searchFirstByUserIdAndKeyword(
+        @Param("userId") Long userId,
+        @Param("keyword") String keyword,
+        Limit limit
+    );
+
+    @EntityGraph(Transaction.WITH_DETAILS)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.payee) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.reference) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(t.notes) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND t.transactionDate <= :date AND (t.transactionDate < :date OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> searchByUserIdAndKeywordAfter(
+        @Param("userId") Long userId,
+        @Param("keyword") String keyword,
+        @Param("date") LocalDate date,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    // The date bounds of the requested rows restrict the lookup to their monthly partitions
+    @EntityGraph(Transaction.WITH_DETAILS)
+    List<Transaction> findByIdInAndTransactionDateBetween(Collection<Long> ids, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Searchable text of all of a user's transactions, fetched in batches from a server-side cursor.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.finance.repository.projection.TransactionText(" +
+           "t.id, t.transactionDate, t.payee, t.description, t.reference, t.notes) " +
+           "FROM Transaction t WHERE t.user.id = :userId")
+    Stream<TransactionText> streamTextsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.finance.repository.projection.PayeeCount(t.payee, COUNT(t)) " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.payee IS NOT NULL " +
+           "GROUP BY t.payee")
+    List<PayeeCount> countPayeesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Flat rows of every transaction of the user, oldest first, read through a server-side cursor
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.finance.repository.projection.TransactionExportRow(" +
+           "t.id, t.transactionDate, t.type, t.amount, t.account.id, t.category.id, t.transferAccount.id, " +
+           "t.payee, t.description, t.reference, t.notes, t.reconciled) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "ORDER BY t.transactionDate ASC, t.id ASC")
+    Stream<TransactionExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.account.id = :accountId")
+    Long findMaxIdByAccountId(@Param("accountId") Long accountId);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.finance.repository.projection.TransactionFingerprintRow(" +
+           "t.type, t.amount, t.transactionDate, t.payee, t.reference) " +
+           "FROM Transaction t WHERE t.account.id = :accountId")
+    Stream<TransactionFingerprintRow> streamFingerprintsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Exact check behind a duplicate filter hit: payee and reference compare trimmed and
+     * case-insensitively, with null equal to empty, like the fingerprint
+     */
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.account.id = :accountId AND t.id <= :maxId " +
+           "AND t.transactionDate = :date AND t.type = :type AND t.amount = :amount " +
+           "AND LOWER(TRIM(COALESCE(t.payee, ''))) = :payee " +
+           "AND LOWER(TRIM(COALESCE(t.reference, ''))) = :reference")
+    long countMatching(
+        @Param("accountId") Long accountId,
+        @Param("maxId") Long maxId,
+        @Param("date") LocalDate date,
+        @Param("type") Transaction.TransactionType type,
+        @Param("amount") BigDecimal amount,
+        @Param("payee") String payee,
+        @Param("reference") String reference
+    );
 }
@@ -0,0 +1,26 @@
+package com.finance.repository;
+
+import com.finance.entity.User;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Username lookups that reuse the id already resolved by the same HTTP request
+ */
+public interface UserLookupRepository {
+
+    /**
+     * The user with this username. Within a request the id comes from the request's query
+     * memo and the user is returned as a reference bound to the caller's own persistence
+     * context, so no entity is ever shared between transactions.
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Memo key of the id lookup, for callers that have just loaded the user another way
+     */
+    static List<Object> idMemoKey(String username) {
+        return List.of("userIdByUsername", username);
+    }
+}
@@ -0,0 +1,41 @@
+package com.finance.repository;
+
+import com.finance.cache.RequestQueryMemo;
+import com.finance.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        RequestQueryMemo memo = RequestQueryMemo.current();
+        if (memo == null) {
+            return entityManager.createQuery("SELECT u FROM User u WHERE u.username = :username", User.class)
+                .setParameter("username", username)
+                .getResultStream()
+                .findFirst();
+        }
+
+        Long id = (Long) memo.getOrLoad(UserLookupRepository.idMemoKey(username), () ->
+            entityManager.createQuery("SELECT u.id FROM User u WHERE u.username = :username", Long.class)
+                .setParameter("username", username)
+                .getResultStream()
+                .findFirst()
+                .orElse(null));
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        // A reference would be detached at once outside a transaction, so load the user there
+        return Optional.of(TransactionSynchronizationManager.isActualTransactionActive()
+            ? entityManager.getReference(User.class, id)
+            : entityManager.find(User.class, id));
+    }
+}
@@ -0,0 +1,15 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public record CategoryTotal(
+    Long categoryId,
+    String categoryName,
+    String categoryIcon,
+    String categoryColor,
+    TransactionType type,
+    BigDecimal total,
+    Long count
+) {}
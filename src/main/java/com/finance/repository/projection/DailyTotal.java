@@ -0,0 +1,14 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyTotal(
+    LocalDate day,
+    Long categoryId,
+    TransactionType type,
+    BigDecimal total,
+    Long count
+) {}
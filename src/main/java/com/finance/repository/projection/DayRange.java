@@ -0,0 +1,9 @@
+package com.finance.repository.projection;
+
+import java.time.LocalDate;
+
+public record DayRange(
+    LocalDate firstDay,
+    LocalDate lastDay,
+    Long rows
+) {}
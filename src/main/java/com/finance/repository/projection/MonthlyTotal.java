@@ -0,0 +1,12 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public record MonthlyTotal(
+    Integer year,
+    Integer month,
+    TransactionType type,
+    BigDecimal total
+) {}
@@ -0,0 +1,6 @@
+package com.finance.repository.projection;
+
+public record PayeeCount(
+    String payee,
+    Long count
+) {}
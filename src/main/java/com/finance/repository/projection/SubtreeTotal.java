@@ -0,0 +1,18 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public record SubtreeTotal(
+    Long categoryId,
+    String categoryName,
+    String categoryIcon,
+    String categoryColor,
+    Long parentId,
+    TransactionType type,
+    BigDecimal total,
+    Long count,
+    BigDecimal subtreeTotal,
+    Long subtreeCount
+) {}
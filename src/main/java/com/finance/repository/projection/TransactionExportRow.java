@@ -0,0 +1,21 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionExportRow(
+    Long id,
+    LocalDate transactionDate,
+    TransactionType type,
+    BigDecimal amount,
+    Long accountId,
+    Long categoryId,
+    Long transferAccountId,
+    String payee,
+    String description,
+    String reference,
+    String notes,
+    Boolean reconciled
+) {}
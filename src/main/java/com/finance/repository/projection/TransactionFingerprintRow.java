@@ -0,0 +1,14 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionFingerprintRow(
+    TransactionType type,
+    BigDecimal amount,
+    LocalDate transactionDate,
+    String payee,
+    String reference
+) {}
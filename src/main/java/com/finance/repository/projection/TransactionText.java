@@ -0,0 +1,12 @@
+package com.finance.repository.projection;
+
+import java.time.LocalDate;
+
+public record TransactionText(
+    Long id,
+    LocalDate transactionDate,
+    String payee,
+    String description,
+    String reference,
+    String notes
+) {}
@@ -0,0 +1,11 @@
+package com.finance.repository.projection;
+
+import com.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public record TypeTotal(
+    TransactionType type,
+    BigDecimal total,
+    Long count
+) {}
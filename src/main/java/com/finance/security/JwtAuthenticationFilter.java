@@ -1,5 +1,7 @@
 package com.finance.security;
 
+import com.finance.cache.RecentActivityTracker;
+import com.finance.entity.User;
 import com.finance.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final RecentActivityTracker recentActivityTracker;
 
     @Override
     protected void doFilterInternal(
@@ -47,6 +50,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                if (userDetails instanceof User user) {
+                    recentActivityTracker.recordActivity(user.getId());
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -1,15 +1,23 @@
 package com.finance.service;
 
+import com.finance.dto.CursorPage;
 import com.finance.dto.account.AccountRequest;
+import com.finance.concurrency.RetryOnConflict;
 import com.finance.dto.account.AccountResponse;
 import com.finance.entity.Account;
 import com.finance.entity.User;
+import com.finance.event.AccountBalanceChangedEvent;
+import com.finance.event.UserDataChangedEvent;
 import com.finance.exception.ResourceNotFoundException;
 import com.finance.exception.UnauthorizedException;
 import com.finance.mapper.AccountMapper;
 import com.finance.repository.AccountRepository;
+import com.finance.repository.ImportJobRepository;
 import com.finance.repository.UserRepository;
+import com.finance.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +32,10 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final AccountMapper accountMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DailyRollupService dailyRollupService;
+    private final LedgerService ledgerService;
+    private final ImportJobRepository importJobRepository;
 
     @Transactional
     public AccountResponse createAccount(AccountRequest request, String username) {
@@ -41,6 +53,8 @@ public class AccountService {
             .build();
 
         Account saved = accountRepository.save(account);
+        ledgerService.recordOpeningBalance(saved);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return accountMapper.toResponse(saved);
     }
 
@@ -64,6 +78,20 @@ public class AccountService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated variant of getAllAccounts, in creation order
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AccountResponse> getAllAccountsByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Account> rows = accountRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+            user.getId(), CursorCodec.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, accountMapper::toResponse, row -> CursorCodec.encode(row.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<AccountResponse> getActiveAccounts(String username) {
         User user = userRepository.findByUsername(username)
@@ -84,12 +112,14 @@ public class AccountService {
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @RetryOnConflict
     @Transactional
     public AccountResponse updateAccount(Long id, AccountRequest request, String username) {
         Account account = accountRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
 
         validateAccountOwnership(account, username);
+        BigDecimal previousBalance = account.getBalance();
 
         account.setName(request.name());
         account.setDescription(request.description());
@@ -100,6 +130,11 @@ public class AccountService {
         }
 
         Account updated = accountRepository.save(account);
+        ledgerService.recordAdjustment(updated, previousBalance);
+        eventPublisher.publishEvent(new UserDataChangedEvent(account.getUser().getId()));
+        if (updated.getBalance().compareTo(previousBalance) != 0) {
+            eventPublisher.publishEvent(new AccountBalanceChangedEvent(account.getUser().getId(), updated.getId()));
+        }
         return accountMapper.toResponse(updated);
     }
 
@@ -109,9 +144,17 @@ public class AccountService {
             .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
 
         validateAccountOwnership(account, username);
+        ledgerService.deleteAccountHistory(account.getId());
+        importJobRepository.deleteByAccountId(account.getId());
         accountRepository.delete(account);
+
+        // The account's transactions are removed with it, so its rollups must go too
+        accountRepository.flush();
+        dailyRollupService.rebuildForUser(account.getUser().getId());
+        eventPublisher.publishEvent(new UserDataChangedEvent(account.getUser().getId()));
     }
 
+    @RetryOnConflict
     @Transactional
     public AccountResponse toggleAccountStatus(Long id, String username) {
         Account account = accountRepository.findById(id)
@@ -121,6 +164,7 @@ public class AccountService {
         account.setActive(!account.getActive());
 
         Account updated = accountRepository.save(account);
+        eventPublisher.publishEvent(new UserDataChangedEvent(account.getUser().getId()));
         return accountMapper.toResponse(updated);
     }
 
@@ -1,12 +1,15 @@
 package com.finance.service;
 
+import com.finance.cache.RecentActivityTracker;
 import com.finance.dto.auth.AuthResponse;
 import com.finance.dto.auth.LoginRequest;
 import com.finance.dto.auth.RegisterRequest;
 import com.finance.entity.User;
+import com.finance.event.UserLoggedInEvent;
 import com.finance.repository.UserRepository;
 import com.finance.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,6 +25,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final RecentActivityTracker recentActivityTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -70,6 +75,8 @@ public class AuthService {
             .orElseThrow(() -> new RuntimeException("User not found"));
 
         String token = jwtTokenProvider.generateToken(username);
+        recentActivityTracker.recordActivity(user.getId());
+        eventPublisher.publishEvent(new UserLoggedInEvent(user.getId()));
 
         return new AuthResponse(
             token,
@@ -1,10 +1,12 @@
 package com.finance.service;
 
+import com.finance.dto.CursorPage;
 import com.finance.dto.budget.BudgetRequest;
 import com.finance.dto.budget.BudgetResponse;
 import com.finance.entity.Budget;
 import com.finance.entity.Category;
 import com.finance.entity.User;
+import com.finance.event.UserDataChangedEvent;
 import com.finance.exception.ResourceNotFoundException;
 import com.finance.exception.UnauthorizedException;
 import com.finance.mapper.BudgetMapper;
@@ -12,7 +14,10 @@ import com.finance.repository.BudgetRepository;
 import com.finance.repository.CategoryRepository;
 import com.finance.repository.TransactionRepository;
 import com.finance.repository.UserRepository;
+import com.finance.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +35,7 @@ public class BudgetService {
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
     private final BudgetMapper budgetMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BudgetResponse createBudget(BudgetRequest request, String username) {
@@ -58,6 +64,7 @@ public class BudgetService {
         updateBudgetSpent(budget);
 
         Budget saved = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return budgetMapper.toResponse(saved);
     }
 
@@ -81,6 +88,20 @@ public class BudgetService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated variant of getAllBudgets, in creation order
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BudgetResponse> getAllBudgetsByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Budget> rows = budgetRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+            user.getId(), CursorCodec.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, budgetMapper::toResponse, row -> CursorCodec.encode(row.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<BudgetResponse> getActiveBudgets(String username) {
         User user = userRepository.findByUsername(username)
@@ -130,6 +151,7 @@ public class BudgetService {
         updateBudgetSpent(budget);
 
         Budget updated = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(budget.getUser().getId()));
         return budgetMapper.toResponse(updated);
     }
 
@@ -140,6 +162,7 @@ public class BudgetService {
 
         validateBudgetOwnership(budget, username);
         budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(budget.getUser().getId()));
     }
 
     @Transactional
@@ -151,6 +174,7 @@ public class BudgetService {
         budget.setActive(!budget.getActive());
 
         Budget updated = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(budget.getUser().getId()));
         return budgetMapper.toResponse(updated);
     }
 
@@ -0,0 +1,79 @@
+package com.finance.service;
+
+import com.finance.entity.Category;
+import com.finance.exception.BadRequestException;
+import com.finance.repository.CategoryClosureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryClosureService {
+
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Add a newly saved category under its parent, if it has one
+     */
+    @Transactional
+    public void addCategory(Category category) {
+        Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+        categoryClosureRepository.insertLeaf(category.getId(), parentId);
+    }
+
+    /**
+     * Reject a parent that would make the category its own ancestor
+     */
+    @Transactional(readOnly = true)
+    public void validateParent(Category category, Category parent) {
+        if (parent != null && categoryClosureRepository.existsByAncestorIdAndDescendantId(category.getId(), parent.getId())) {
+            throw new BadRequestException("A category cannot be moved under itself or one of its subcategories");
+        }
+    }
+
+    /**
+     * Move a category, with its whole subtree, from its previous parent to its current one
+     */
+    @Transactional
+    public void moveCategory(Category category, Long previousParentId) {
+        Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+        if (Objects.equals(parentId, previousParentId)) {
+            return;
+        }
+
+        categoryClosureRepository.detachSubtree(category.getId());
+        if (parentId != null) {
+            categoryClosureRepository.attachSubtree(category.getId(), parentId);
+        }
+    }
+
+    /**
+     * Remove a category and its subcategories, which are deleted with it
+     */
+    @Transactional
+    public void removeCategory(Category category) {
+        categoryClosureRepository.deleteSubtree(category.getId());
+    }
+
+    /**
+     * Build closure rows for categories created before the closure table existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingClosure() {
+        if (categoryClosureRepository.countCategoriesWithoutClosure() == 0) {
+            return;
+        }
+
+        Integer rows = transactionTemplate.execute(status -> categoryClosureRepository.insertMissing());
+        log.info("Backfilled {} category closure rows", rows);
+    }
+}
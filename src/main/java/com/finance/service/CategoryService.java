@@ -1,15 +1,21 @@
 package com.finance.service;
 
+import com.finance.dto.CursorPage;
 import com.finance.dto.category.CategoryRequest;
 import com.finance.dto.category.CategoryResponse;
 import com.finance.entity.Category;
 import com.finance.entity.User;
+import com.finance.event.UserDataChangedEvent;
 import com.finance.exception.ResourceNotFoundException;
 import com.finance.exception.UnauthorizedException;
 import com.finance.mapper.CategoryMapper;
 import com.finance.repository.CategoryRepository;
+import com.finance.repository.ImportJobRepository;
 import com.finance.repository.UserRepository;
+import com.finance.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +29,9 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryClosureService categoryClosureService;
+    private final ImportJobRepository importJobRepository;
 
     @Transactional
     public CategoryResponse createCategory(CategoryRequest request, String username) {
@@ -46,6 +55,8 @@ public class CategoryService {
         }
 
         Category saved = categoryRepository.save(category);
+        categoryClosureService.addCategory(saved);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return categoryMapper.toResponse(saved);
     }
 
@@ -69,15 +80,27 @@ public class CategoryService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated variant of getAllCategories, in creation order
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CategoryResponse> getAllCategoriesByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Category> rows = categoryRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+            user.getId(), CursorCodec.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, categoryMapper::toSimpleResponse, row -> CursorCodec.encode(row.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<CategoryResponse> getRootCategories(String username) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
-        return categoryRepository.findByUserIdAndParentIsNull(user.getId())
-            .stream()
-            .map(categoryMapper::toResponse)
-            .collect(Collectors.toList());
+        // One query for every level of the tree
+        return categoryMapper.toTreeResponses(categoryRepository.findByUserId(user.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -97,6 +120,7 @@ public class CategoryService {
             .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
 
         validateCategoryOwnership(category, username);
+        Long previousParentId = category.getParent() != null ? category.getParent().getId() : null;
 
         category.setName(request.name());
         category.setDescription(request.description());
@@ -108,12 +132,15 @@ public class CategoryService {
             Category parent = categoryRepository.findById(request.parentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.parentId()));
             validateCategoryOwnership(parent, username);
+            categoryClosureService.validateParent(category, parent);
             category.setParent(parent);
         } else {
             category.setParent(null);
         }
 
         Category updated = categoryRepository.save(category);
+        categoryClosureService.moveCategory(updated, previousParentId);
+        eventPublisher.publishEvent(new UserDataChangedEvent(category.getUser().getId()));
         return categoryMapper.toResponse(updated);
     }
 
@@ -123,7 +150,11 @@ public class CategoryService {
             .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
 
         validateCategoryOwnership(category, username);
+        // Sub-categories are deleted with it; runs before the closure rows go
+        importJobRepository.deleteByCategorySubtree(category.getId());
+        categoryClosureService.removeCategory(category);
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new UserDataChangedEvent(category.getUser().getId()));
     }
 
     private void validateCategoryOwnership(Category category, String username) {
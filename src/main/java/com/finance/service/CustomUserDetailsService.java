@@ -1,5 +1,8 @@
 package com.finance.service;
 
+import com.finance.cache.RequestQueryMemo;
+import com.finance.entity.User;
+import com.finance.repository.UserLookupRepository;
 import com.finance.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,9 +20,16 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        return userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
             .orElseThrow(() ->
                 new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)
             );
+
+        // The services of this request look the user up again by username; hand them the id
+        RequestQueryMemo memo = RequestQueryMemo.current();
+        if (memo != null) {
+            memo.put(UserLookupRepository.idMemoKey(user.getUsername()), user.getId());
+        }
+        return user;
     }
 }
@@ -0,0 +1,137 @@
+package com.finance.service;
+
+import com.finance.entity.Transaction;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.repository.DailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Add a transaction to the rollup of its day, category and type
+     */
+    @Transactional
+    public void recordTransaction(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount(), 1);
+    }
+
+    /**
+     * Remove a transaction from the rollup it was recorded in.
+     * Must be called before the transaction's date, category, type or amount are changed.
+     */
+    @Transactional
+    public void reverseTransaction(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount().negate(), -1);
+    }
+
+    /**
+     * Apply the net effect of several writes of one user, touching each rollup row once.
+     * {@code reversed} holds the transactions as they were before being changed or deleted.
+     */
+    @Transactional
+    public void applyChanges(Long userId, List<TransactionSnapshot> reversed, List<TransactionSnapshot> recorded) {
+        Map<RollupKey, RollupChange> changes = new LinkedHashMap<>();
+        for (TransactionSnapshot snapshot : reversed) {
+            changes.computeIfAbsent(RollupKey.of(snapshot), key -> new RollupChange())
+                .add(snapshot.amount().negate(), -1);
+        }
+        for (TransactionSnapshot snapshot : recorded) {
+            changes.computeIfAbsent(RollupKey.of(snapshot), key -> new RollupChange())
+                .add(snapshot.amount(), 1);
+        }
+
+        changes.forEach((key, change) -> {
+            if (change.count == 0 && change.amount.signum() == 0) {
+                return;
+            }
+            dailyRollupRepository.applyDelta(
+                userId, key.day(), key.categoryId(), key.type().name(), change.amount, change.count);
+            if (change.count < 0) {
+                dailyRollupRepository.deleteIfEmpty(userId, key.day(), key.categoryId(), key.type().name());
+            }
+        });
+    }
+
+    /**
+     * Recompute all rollups of a user from the transactions table
+     */
+    @Transactional
+    public int rebuildForUser(Long userId) {
+        dailyRollupRepository.deleteByUserId(userId);
+        int rows = dailyRollupRepository.insertFromTransactions(userId);
+        eventPublisher.publishEvent(new RollupsRebuiltEvent(userId));
+        return rows;
+    }
+
+    /**
+     * Backfill rollups for users whose transactions predate the rollup table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingRollups() {
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        List<Long> userIds = dailyRollupRepository.findUserIdsWithoutRollups();
+        for (Long userId : userIds) {
+            Integer rows = transactionTemplate.execute(status -> rebuildForUser(userId));
+            log.info("Backfilled {} daily rollup rows for user {}", rows, userId);
+        }
+    }
+
+    private void applyDelta(Transaction transaction, BigDecimal amount, long count) {
+        Long userId = transaction.getUser().getId();
+        Long categoryId = transaction.getCategory().getId();
+        String type = transaction.getType().name();
+
+        dailyRollupRepository.applyDelta(
+            userId, transaction.getTransactionDate(), categoryId, type, amount, count);
+
+        // Drop buckets that no longer hold any transaction so categories can still be deleted
+        if (count < 0) {
+            dailyRollupRepository.deleteIfEmpty(userId, transaction.getTransactionDate(), categoryId, type);
+        }
+    }
+
+    private record RollupKey(LocalDate day, Long categoryId, TransactionType type) {
+        static RollupKey of(TransactionSnapshot snapshot) {
+            return new RollupKey(snapshot.transactionDate(), snapshot.categoryId(), snapshot.type());
+        }
+    }
+
+    private static final class RollupChange {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal delta, long countDelta) {
+            amount = amount.add(delta);
+            count += countDelta;
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package com.finance.service;
 
+import com.finance.cache.DashboardCache;
 import com.finance.dto.dashboard.*;
-import com.finance.entity.Transaction;
 import com.finance.entity.Transaction.TransactionType;
 import com.finance.entity.User;
+import com.finance.entity.Category;
+import com.finance.exception.BadRequestException;
 import com.finance.exception.ResourceNotFoundException;
+import com.finance.index.TimeSeriesIndex;
 import com.finance.repository.AccountRepository;
-import com.finance.repository.TransactionRepository;
+import com.finance.repository.CategoryClosureRepository;
+import com.finance.repository.CategoryRepository;
+import com.finance.repository.DailyRollupRepository;
 import com.finance.repository.UserRepository;
+import com.finance.repository.projection.CategoryTotal;
+import com.finance.repository.projection.MonthlyTotal;
+import com.finance.repository.projection.SubtreeTotal;
+import com.finance.repository.projection.TypeTotal;
+import com.finance.util.LongMoneyMap;
+import com.finance.util.MoneyAccumulator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -17,117 +33,193 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
+    private final DailyRollupRepository dailyRollupRepository;
     private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final UserRepository userRepository;
+    private final DashboardCache dashboardCache;
+    private final TimeSeriesIndex timeSeriesIndex;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int MAX_SERIES_PERIODS = 120;
+
+    @Value("${app.dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
 
     public DashboardSummaryResponse getDashboardSummary(String username, LocalDate startDate, LocalDate endDate) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
-        // Calculate total balance across all accounts
-        BigDecimal totalBalance = accountRepository.findByUserIdAndActive(user.getId(), true)
-            .stream()
-            .map(account -> account.getBalance())
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return dashboardCache.getSummary(user.getId(), startDate, endDate,
+            () -> buildDashboardSummary(user, startDate, endDate));
+    }
 
-        // Get transactions for the period
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-            user.getId(), startDate, endDate);
+    /**
+     * Precompute the summary a user's dashboard opens with: the current month up to today
+     */
+    public void prefetchDashboardSummary(Long userId) {
+        userRepository.findById(userId).ifPresent(user -> {
+            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = endDate.withDayOfMonth(1);
+            dashboardCache.prefetchSummary(userId, startDate, endDate,
+                () -> buildDashboardSummary(user, startDate, endDate));
+        });
+    }
 
-        // Calculate income and expenses
-        BigDecimal totalIncome = transactions.stream()
-            .filter(t -> t.getType() == TransactionType.INCOME)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private DashboardSummaryResponse buildDashboardSummary(User user, LocalDate startDate, LocalDate endDate) {
+        Long userId = user.getId();
 
-        BigDecimal totalExpense = transactions.stream()
-            .filter(t -> t.getType() == TransactionType.EXPENSE)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Independent sections run concurrently, each against its own deadline
+        CompletableFuture<BigDecimal> balanceSection = startSection(() -> getTotalBalance(userId));
+        CompletableFuture<List<CategoryTotal>> currentPeriodSection = startSection(() ->
+            sumByCategory(userId, startDate, endDate));
+        CompletableFuture<List<MonthlyTrendResponse>> trendsSection = startSection(() -> getMonthlyTrends(user, 6));
+        CompletableFuture<PeriodTotals> previousPeriodSection = startSection(() ->
+            getPreviousPeriodTotals(userId, startDate, endDate));
 
-        BigDecimal netSavings = totalIncome.subtract(totalExpense);
+        List<String> missingSections = new ArrayList<>();
+        BigDecimal totalBalance = awaitSection("totalBalance", balanceSection, missingSections);
+        List<CategoryTotal> categoryTotals = awaitSection("currentPeriod", currentPeriodSection, missingSections);
+        List<MonthlyTrendResponse> monthlyTrends = awaitSection("monthlyTrends", trendsSection, missingSections);
+        PeriodTotals previousTotals = awaitSection("periodComparison", previousPeriodSection, missingSections);
 
-        // Get top expense categories
-        List<CategoryStatisticsResponse> topExpenseCategories = getTopCategoriesByType(
-            transactions, TransactionType.EXPENSE, totalExpense, 5);
+        DashboardSummaryResponse.DashboardSummaryResponseBuilder summary = DashboardSummaryResponse.builder()
+            .totalBalance(totalBalance)
+            .topExpenseCategories(List.of())
+            .topIncomeCategories(List.of())
+            .monthlyTrends(monthlyTrends != null ? monthlyTrends : List.of());
+
+        if (categoryTotals != null) {
+            // Every transaction has a category, so the per-type totals follow from the category rows
+            PeriodTotals currentTotals = PeriodTotals.fromCategoryTotals(categoryTotals);
+            BigDecimal totalIncome = currentTotals.income();
+            BigDecimal totalExpense = currentTotals.expense();
+
+            summary.totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .netSavings(totalIncome.subtract(totalExpense))
+                .transactionCount(Math.toIntExact(currentTotals.count()))
+                .topExpenseCategories(getTopCategoriesByType(categoryTotals, TransactionType.EXPENSE, totalExpense, 5))
+                .topIncomeCategories(getTopCategoriesByType(categoryTotals, TransactionType.INCOME, totalIncome, 5));
+
+            if (previousTotals != null) {
+                summary.periodComparison(getPeriodComparison(currentTotals, previousTotals));
+            }
+        } else if (previousTotals != null) {
+            // The comparison needs the current period as well
+            missingSections.add("periodComparison");
+        }
 
-        // Get top income categories
-        List<CategoryStatisticsResponse> topIncomeCategories = getTopCategoriesByType(
-            transactions, TransactionType.INCOME, totalIncome, 5);
+        return summary
+            .partial(!missingSections.isEmpty())
+            .missingSections(missingSections)
+            .build();
+    }
 
-        // Get monthly trends (last 6 months)
-        List<MonthlyTrendResponse> monthlyTrends = getMonthlyTrends(user, 6);
+    private BigDecimal getTotalBalance(Long userId) {
+        BigDecimal totalBalance = accountRepository.getTotalBalanceByUserId(userId);
+        return totalBalance != null ? totalBalance : BigDecimal.ZERO;
+    }
 
-        // Get period comparison (current vs previous period)
-        PeriodComparisonResponse periodComparison = getPeriodComparison(user, startDate, endDate);
+    /**
+     * Run a section on the dashboard pool in a read-only transaction bounded by the section
+     * deadline. The transaction timeout is applied to each of its queries as the
+     * jakarta.persistence.query.timeout hint, so the database cancels a statement still running
+     * once the summary has given up on it, and the worker is freed.
+     */
+    private <T> CompletableFuture<T> startSection(Supplier<T> section) {
+        TransactionTemplate sectionTransaction = new TransactionTemplate(transactionManager);
+        sectionTransaction.setReadOnly(true);
+        sectionTransaction.setTimeout((int) Math.max(1, (sectionTimeoutMs + 999) / 1000));
+
+        try {
+            return CompletableFuture
+                .supplyAsync(() -> sectionTransaction.execute(status -> section.get()), dashboardExecutor)
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TaskRejectedException ex) {
+            // The pool is saturated
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 
-        return DashboardSummaryResponse.builder()
-            .totalBalance(totalBalance)
-            .totalIncome(totalIncome)
-            .totalExpense(totalExpense)
-            .netSavings(netSavings)
-            .transactionCount(transactions.size())
-            .topExpenseCategories(topExpenseCategories)
-            .topIncomeCategories(topIncomeCategories)
-            .monthlyTrends(monthlyTrends)
-            .periodComparison(periodComparison)
-            .build();
+    /**
+     * Wait for a section. A section that missed its deadline or was rejected by the saturated
+     * pool is recorded as missing and yields null; any other failure is propagated.
+     */
+    private <T> T awaitSection(String name, CompletableFuture<T> section, List<String> missingSections) {
+        try {
+            return section.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException || ex.getCause() instanceof TaskRejectedException) {
+                section.cancel(true);
+                missingSections.add(name);
+                return null;
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 
     private List<CategoryStatisticsResponse> getTopCategoriesByType(
-            List<Transaction> transactions,
+            List<CategoryTotal> categoryTotals,
             TransactionType type,
             BigDecimal total,
             int limit) {
 
-        Map<Long, List<Transaction>> transactionsByCategory = transactions.stream()
-            .filter(t -> t.getType() == type)
-            .filter(t -> t.getCategory() != null)
-            .collect(Collectors.groupingBy(t -> t.getCategory().getId()));
-
-        return transactionsByCategory.entrySet().stream()
-            .map(entry -> {
-                List<Transaction> categoryTransactions = entry.getValue();
-                Transaction firstTransaction = categoryTransactions.get(0);
-                BigDecimal categoryTotal = categoryTransactions.stream()
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal percentage = total.compareTo(BigDecimal.ZERO) > 0
-                    ? categoryTotal.divide(total, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-                return CategoryStatisticsResponse.builder()
-                    .categoryId(firstTransaction.getCategory().getId())
-                    .categoryName(firstTransaction.getCategory().getName())
-                    .categoryIcon(firstTransaction.getCategory().getIcon())
-                    .categoryColor(firstTransaction.getCategory().getColor())
-                    .totalAmount(categoryTotal)
-                    .transactionCount(categoryTransactions.size())
-                    .percentage(percentage)
-                    .build();
-            })
-            .sorted(Comparator.comparing(CategoryStatisticsResponse::getTotalAmount).reversed())
-            .limit(limit)
-            .collect(Collectors.toList());
+        // Without a type filter, a category used with several types is reported once
+        LongMoneyMap totalsByCategory = new LongMoneyMap(categoryTotals.size());
+        List<CategoryTotal> firstRows = new ArrayList<>();
+        for (CategoryTotal row : categoryTotals) {
+            if (type != null && row.type() != type) {
+                continue;
+            }
+            int ordinal = totalsByCategory.add(row.categoryId(), row.total(), row.count());
+            if (ordinal == firstRows.size()) {
+                firstRows.add(row);
+            }
+        }
+
+        List<CategoryStatisticsResponse> statistics = new ArrayList<>(totalsByCategory.size());
+        for (int ordinal = 0; ordinal < totalsByCategory.size(); ordinal++) {
+            CategoryTotal row = firstRows.get(ordinal);
+            BigDecimal categoryTotal = totalsByCategory.totalAt(ordinal);
+            statistics.add(CategoryStatisticsResponse.builder()
+                .categoryId(row.categoryId())
+                .categoryName(row.categoryName())
+                .categoryIcon(row.categoryIcon())
+                .categoryColor(row.categoryColor())
+                .totalAmount(categoryTotal)
+                .transactionCount(Math.toIntExact(totalsByCategory.countAt(ordinal)))
+                .percentage(percentageOf(categoryTotal, total))
+                .build());
+        }
+
+        statistics.sort(Comparator.comparing(CategoryStatisticsResponse::getTotalAmount).reversed());
+        return statistics.size() > limit ? new ArrayList<>(statistics.subList(0, limit)) : statistics;
     }
 
     private List<MonthlyTrendResponse> getMonthlyTrends(User user, int months) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(months - 1).withDayOfMonth(1);
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-            user.getId(), startDate, endDate);
+        List<MonthlyTotal> monthlyTotals = sumByMonth(user.getId(), startDate, endDate);
 
-        Map<YearMonth, List<Transaction>> transactionsByMonth = transactions.stream()
-            .collect(Collectors.groupingBy(t -> YearMonth.from(t.getTransactionDate())));
+        MonthlyBuckets buckets = MonthlyBuckets.of(monthlyTotals, months);
 
         List<MonthlyTrendResponse> trends = new ArrayList<>();
         YearMonth currentMonth = YearMonth.from(startDate);
@@ -136,17 +228,9 @@ public class DashboardService {
         BigDecimal runningBalance = BigDecimal.ZERO;
 
         while (!currentMonth.isAfter(lastMonth)) {
-            List<Transaction> monthTransactions = transactionsByMonth.getOrDefault(currentMonth, Collections.emptyList());
-
-            BigDecimal monthIncome = monthTransactions.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal monthExpense = monthTransactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            PeriodTotals monthTotals = buckets.totalsOf(currentMonth);
+            BigDecimal monthIncome = monthTotals.income();
+            BigDecimal monthExpense = monthTotals.expense();
 
             BigDecimal monthNetSavings = monthIncome.subtract(monthExpense);
             runningBalance = runningBalance.add(monthNetSavings);
@@ -166,39 +250,20 @@ public class DashboardService {
         return trends;
     }
 
-    private PeriodComparisonResponse getPeriodComparison(User user, LocalDate currentStart, LocalDate currentEnd) {
+    private PeriodTotals getPreviousPeriodTotals(Long userId, LocalDate currentStart, LocalDate currentEnd) {
         // Calculate previous period
         long daysBetween = currentEnd.toEpochDay() - currentStart.toEpochDay();
         LocalDate previousStart = currentStart.minusDays(daysBetween + 1);
         LocalDate previousEnd = currentStart.minusDays(1);
 
-        // Current period transactions
-        List<Transaction> currentTransactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-            user.getId(), currentStart, currentEnd);
-
-        BigDecimal currentIncome = currentTransactions.stream()
-            .filter(t -> t.getType() == TransactionType.INCOME)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal currentExpense = currentTransactions.stream()
-            .filter(t -> t.getType() == TransactionType.EXPENSE)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Previous period transactions
-        List<Transaction> previousTransactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-            user.getId(), previousStart, previousEnd);
-
-        BigDecimal previousIncome = previousTransactions.stream()
-            .filter(t -> t.getType() == TransactionType.INCOME)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return PeriodTotals.fromTypeTotals(sumByType(userId, previousStart, previousEnd));
+    }
 
-        BigDecimal previousExpense = previousTransactions.stream()
-            .filter(t -> t.getType() == TransactionType.EXPENSE)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private PeriodComparisonResponse getPeriodComparison(PeriodTotals currentTotals, PeriodTotals previousTotals) {
+        BigDecimal currentIncome = currentTotals.income();
+        BigDecimal currentExpense = currentTotals.expense();
+        BigDecimal previousIncome = previousTotals.income();
+        BigDecimal previousExpense = previousTotals.expense();
 
         // Calculate changes
         BigDecimal incomeChange = currentIncome.subtract(previousIncome);
@@ -237,6 +302,63 @@ public class DashboardService {
             .multiply(BigDecimal.valueOf(100));
     }
 
+    /**
+     * Income, expense and savings of consecutive calendar months ending with the month of endDate,
+     * each compared with the month before it or, for year over year, the same month a year earlier.
+     * All months and full baselines come from a single monthly bucket query. When endDate falls
+     * before the end of its month, the last month's baseline is cut at the same day of the month
+     * so that partial months are compared with partial months.
+     */
+    public List<PeriodSummaryResponse> getPeriodSeries(
+            String username,
+            LocalDate endDate,
+            int periods,
+            boolean yearOverYear) {
+
+        if (periods < 1 || periods > MAX_SERIES_PERIODS) {
+            throw new BadRequestException("Periods must be between 1 and " + MAX_SERIES_PERIODS);
+        }
+
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        YearMonth lastMonth = YearMonth.from(endDate);
+        YearMonth firstMonth = lastMonth.minusMonths(periods - 1);
+        YearMonth firstBaseline = yearOverYear ? firstMonth.minusYears(1) : firstMonth.minusMonths(1);
+
+        MonthlyBuckets buckets = MonthlyBuckets.of(
+            sumByMonth(user.getId(), firstBaseline.atDay(1), endDate), periods * 2);
+
+        boolean lastMonthPartial = endDate.getDayOfMonth() < endDate.lengthOfMonth();
+
+        List<PeriodSummaryResponse> series = new ArrayList<>(periods);
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            YearMonth baseline = yearOverYear ? month.minusYears(1) : month.minusMonths(1);
+            PeriodTotals current = buckets.totalsOf(month);
+            PeriodTotals baselineTotals = month.equals(lastMonth) && lastMonthPartial
+                ? PeriodTotals.fromTypeTotals(sumByType(user.getId(), baseline.atDay(1),
+                    baseline.atDay(Math.min(endDate.getDayOfMonth(), baseline.lengthOfMonth()))))
+                : buckets.totalsOf(baseline);
+
+            series.add(PeriodSummaryResponse.builder()
+                .month(month.getMonth().toString())
+                .year(month.getYear())
+                .income(current.income())
+                .expense(current.expense())
+                .netSavings(current.income().subtract(current.expense()))
+                .comparedMonth(baseline.getMonth().toString())
+                .comparedYear(baseline.getYear())
+                .comparison(getPeriodComparison(current, baselineTotals))
+                .build());
+        }
+
+        return series;
+    }
+
+    public CacheStatisticsResponse getCacheStatistics() {
+        return dashboardCache.getStatistics();
+    }
+
     public List<CategoryStatisticsResponse> getCategoryStatistics(
             String username,
             LocalDate startDate,
@@ -246,14 +368,162 @@ public class DashboardService {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
+        return dashboardCache.getCategoryStatistics(user.getId(), startDate, endDate, type,
+            () -> buildCategoryStatistics(user, startDate, endDate, type));
+    }
+
+    private List<CategoryStatisticsResponse> buildCategoryStatistics(
+            User user,
+            LocalDate startDate,
+            LocalDate endDate,
+            TransactionType type) {
+
+        // One row per category and type, with the category's own and its subtree's totals
+        List<SubtreeTotal> subtreeTotals = categoryClosureRepository.sumSubtreesForUserAndDateRange(
             user.getId(), startDate, endDate);
 
-        BigDecimal total = transactions.stream()
-            .filter(t -> type == null || t.getType() == type)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Without a type filter, a category used with several types is reported once
+        LongMoneyMap ownTotals = new LongMoneyMap(subtreeTotals.size());
+        LongMoneyMap treeTotals = new LongMoneyMap(subtreeTotals.size());
+        List<SubtreeTotal> firstRows = new ArrayList<>();
+        MoneyAccumulator total = new MoneyAccumulator();
+        for (SubtreeTotal row : subtreeTotals) {
+            if (type != null && row.type() != type) {
+                continue;
+            }
+            int ordinal = ownTotals.add(row.categoryId(), row.total(), row.count());
+            treeTotals.add(row.categoryId(), row.subtreeTotal(), row.subtreeCount());
+            if (ordinal == firstRows.size()) {
+                firstRows.add(row);
+            }
+            total.add(row.total());
+        }
+
+        List<CategoryStatisticsResponse> statistics = new ArrayList<>(ownTotals.size());
+        for (int ordinal = 0; ordinal < ownTotals.size(); ordinal++) {
+            SubtreeTotal row = firstRows.get(ordinal);
+            BigDecimal categoryTotal = ownTotals.totalAt(ordinal);
+
+            statistics.add(CategoryStatisticsResponse.builder()
+                .categoryId(row.categoryId())
+                .parentId(row.parentId())
+                .categoryName(row.categoryName())
+                .categoryIcon(row.categoryIcon())
+                .categoryColor(row.categoryColor())
+                .totalAmount(categoryTotal)
+                .transactionCount(Math.toIntExact(ownTotals.countAt(ordinal)))
+                .percentage(percentageOf(categoryTotal, total.total()))
+                .subtreeTotalAmount(treeTotals.totalAt(ordinal))
+                .subtreeTransactionCount(Math.toIntExact(treeTotals.countAt(ordinal)))
+                .build());
+        }
+
+        statistics.sort(Comparator.comparing(CategoryStatisticsResponse::getSubtreeTotalAmount).reversed());
+        return statistics;
+    }
+
+    private BigDecimal percentageOf(BigDecimal amount, BigDecimal total) {
+        return total.compareTo(BigDecimal.ZERO) > 0
+            ? amount.divide(total, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+            : BigDecimal.ZERO;
+    }
+
+    // Range totals come from the in-memory index once it is loaded, from the rollups until then
 
-        return getTopCategoriesByType(transactions, type, total, Integer.MAX_VALUE);
+    private List<TypeTotal> sumByType(Long userId, LocalDate startDate, LocalDate endDate) {
+        return timeSeriesIndex.getIfWarm(userId)
+            .map(series -> series.sumByType(startDate, endDate))
+            .orElseGet(() -> dailyRollupRepository.sumByTypeForUserAndDateRange(userId, startDate, endDate));
+    }
+
+    private List<CategoryTotal> sumByCategory(Long userId, LocalDate startDate, LocalDate endDate) {
+        return timeSeriesIndex.getIfWarm(userId)
+            .map(series -> withCategoryDetails(series.sumByCategory(startDate, endDate)))
+            .orElseGet(() -> dailyRollupRepository.sumByCategoryForUserAndDateRange(userId, startDate, endDate));
+    }
+
+    private List<MonthlyTotal> sumByMonth(Long userId, LocalDate startDate, LocalDate endDate) {
+        return timeSeriesIndex.getIfWarm(userId)
+            .map(series -> series.sumByMonth(startDate, endDate))
+            .orElseGet(() -> dailyRollupRepository.sumByMonthForUserAndDateRange(userId, startDate, endDate));
+    }
+
+    private List<CategoryTotal> withCategoryDetails(List<CategoryTotal> totals) {
+        Set<Long> categoryIds = totals.stream()
+            .map(CategoryTotal::categoryId)
+            .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(Category::getId, category -> category));
+
+        List<CategoryTotal> detailed = new ArrayList<>(totals.size());
+        for (CategoryTotal row : totals) {
+            Category category = categories.get(row.categoryId());
+            if (category == null) {
+                continue;
+            }
+            detailed.add(new CategoryTotal(row.categoryId(), category.getName(), category.getIcon(),
+                category.getColor(), row.type(), row.total(), row.count()));
+        }
+        return detailed;
+    }
+
+    /**
+     * Monthly income and expense rows keyed by months since year zero
+     */
+    private record MonthlyBuckets(LongMoneyMap income, LongMoneyMap expense) {
+
+        static MonthlyBuckets of(List<MonthlyTotal> rows, int expectedMonths) {
+            MonthlyBuckets buckets = new MonthlyBuckets(new LongMoneyMap(expectedMonths), new LongMoneyMap(expectedMonths));
+            for (MonthlyTotal row : rows) {
+                long monthKey = row.year() * 12L + row.month() - 1;
+                if (row.type() == TransactionType.INCOME) {
+                    buckets.income.add(monthKey, row.total(), 0);
+                } else if (row.type() == TransactionType.EXPENSE) {
+                    buckets.expense.add(monthKey, row.total(), 0);
+                }
+            }
+            return buckets;
+        }
+
+        PeriodTotals totalsOf(YearMonth month) {
+            long monthKey = month.getYear() * 12L + month.getMonthValue() - 1;
+            return new PeriodTotals(income.totalOf(monthKey), expense.totalOf(monthKey), 0);
+        }
+    }
+
+    /**
+     * Income, expense and transaction count of one period, folded from grouped rows
+     */
+    private record PeriodTotals(BigDecimal income, BigDecimal expense, long count) {
+
+        static PeriodTotals fromTypeTotals(List<TypeTotal> rows) {
+            MoneyAccumulator income = new MoneyAccumulator();
+            MoneyAccumulator expense = new MoneyAccumulator();
+            long count = 0;
+            for (TypeTotal row : rows) {
+                add(row.type(), row.total(), income, expense);
+                count += row.count();
+            }
+            return new PeriodTotals(income.total(), expense.total(), count);
+        }
+
+        static PeriodTotals fromCategoryTotals(List<CategoryTotal> rows) {
+            MoneyAccumulator income = new MoneyAccumulator();
+            MoneyAccumulator expense = new MoneyAccumulator();
+            long count = 0;
+            for (CategoryTotal row : rows) {
+                add(row.type(), row.total(), income, expense);
+                count += row.count();
+            }
+            return new PeriodTotals(income.total(), expense.total(), count);
+        }
+
+        private static void add(TransactionType type, BigDecimal amount, MoneyAccumulator income, MoneyAccumulator expense) {
+            if (type == TransactionType.INCOME) {
+                income.add(amount);
+            } else if (type == TransactionType.EXPENSE) {
+                expense.add(amount);
+            }
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.finance.service;
+
+import com.finance.cache.RecentActivityTracker;
+import com.finance.event.UserLoggedInEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputes the current-month dashboard of recently active users while the dashboard pool is idle,
+ * so their next summary request is a cache hit. A login starts its user's warm-up right away; the
+ * scheduled pass keeps the dashboards of users who stay active warm.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardWarmupService {
+
+    private final DashboardService dashboardService;
+    private final RecentActivityTracker recentActivityTracker;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final ThreadPoolTaskExecutor dashboardWarmupExecutor;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.dashboard.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dashboard.warmup.active-window-minutes:30}")
+    private long activeWindowMinutes;
+
+    @Value("${app.dashboard.warmup.max-users-per-run:200}")
+    private int maxUsersPerRun;
+
+    @Scheduled(fixedDelayString = "${app.dashboard.warmup.interval-ms:60000}")
+    public void warmUpRecentlyActiveUsers() {
+        if (!enabled) {
+            return;
+        }
+
+        Duration window = Duration.ofMinutes(activeWindowMinutes);
+        recentActivityTracker.prune(window);
+        List<Long> userIds = recentActivityTracker.getRecentlyActiveUsers(window, maxUsersPerRun);
+
+        for (Long userId : userIds) {
+            // Leave the dashboard pool to live requests
+            if (!isDashboardPoolIdle()) {
+                log.debug("Dashboard warm-up paused: pool busy");
+                return;
+            }
+            if (!submit(userId)) {
+                // Warm-up capacity reached; the rest waits for the next pass
+                return;
+            }
+        }
+    }
+
+    /**
+     * The first dashboard request usually follows a login, so start computing it now, off the
+     * request thread. Skipped when live requests keep the pool busy; the scheduled pass retries.
+     */
+    @EventListener
+    public void onUserLoggedIn(UserLoggedInEvent event) {
+        if (enabled && isDashboardPoolIdle()) {
+            submit(event.userId());
+        }
+    }
+
+    /**
+     * @return false if the warm-up executor is full
+     */
+    private boolean submit(Long userId) {
+        if (!inFlight.add(userId)) {
+            return true;
+        }
+        try {
+            dashboardWarmupExecutor.execute(() -> warmUp(userId));
+            return true;
+        } catch (TaskRejectedException ex) {
+            inFlight.remove(userId);
+            return false;
+        }
+    }
+
+    private void warmUp(Long userId) {
+        try {
+            dashboardService.prefetchDashboardSummary(userId);
+        } catch (RuntimeException ex) {
+            log.warn("Could not precompute dashboard for user {}", userId, ex);
+        } finally {
+            inFlight.remove(userId);
+        }
+    }
+
+    private boolean isDashboardPoolIdle() {
+        return dashboardExecutor.getActiveCount() < dashboardExecutor.getMaxPoolSize() / 2
+            && dashboardExecutor.getQueueSize() == 0;
+    }
+}
@@ -0,0 +1,273 @@
+package com.finance.service;
+
+import com.finance.entity.Account;
+import com.finance.entity.Category;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.entity.User;
+import com.finance.exception.ResourceNotFoundException;
+import com.finance.repository.AccountRepository;
+import com.finance.repository.CategoryRepository;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.UserRepository;
+import com.finance.repository.projection.PayeeCount;
+import com.finance.repository.projection.TransactionExportRow;
+import lombok.RequiredArgsConstructor;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Exports a user's transactions as an Arrow IPC stream. Accounts, categories, payees and types
+ * are dictionary-encoded: their dictionaries are read first, then the transactions are read
+ * through a database cursor and written in fixed-size record batches, so neither the heap nor
+ * the off-heap buffers grow with the history.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public static final String ARROW_STREAM = "application/vnd.apache.arrow.stream";
+
+    private static final int AMOUNT_PRECISION = 19;
+    private static final int AMOUNT_SCALE = 2;
+    private static final ArrowType.Int DICTIONARY_INDEX = new ArrowType.Int(32, true);
+
+    private static final long TYPE_DICTIONARY = 0;
+    private static final long ACCOUNT_DICTIONARY = 1;
+    private static final long CATEGORY_DICTIONARY = 2;
+    private static final long PAYEE_DICTIONARY = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BufferAllocator exportAllocator;
+
+    @Value("${app.export.batch-rows:8192}")
+    private int batchRows;
+
+    @Value("${app.export.max-memory-per-export-bytes:67108864}")
+    private long maxMemoryPerExport;
+
+    /**
+     * The user is resolved now so errors still map to a status code; the file is produced
+     * while the response body is written.
+     */
+    public StreamingResponseBody exportTransactions(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        Long userId = user.getId();
+
+        // Dictionaries and rows must come from the same snapshot
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        return outputStream -> snapshot.executeWithoutResult(status -> {
+            try {
+                writeTransactions(userId, outputStream);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeTransactions(Long userId, OutputStream outputStream) throws IOException {
+        List<Account> accounts = accountRepository.findByUserId(userId);
+        List<Category> categories = categoryRepository.findByUserId(userId);
+        List<PayeeCount> payees = transactionRepository.countPayeesByUserId(userId);
+
+        Map<Long, Integer> accountIndexes = new HashMap<>();
+        List<String> accountNames = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            accountIndexes.put(account.getId(), accountNames.size());
+            accountNames.add(account.getName());
+        }
+        Map<Long, Integer> categoryIndexes = new HashMap<>();
+        List<String> categoryNames = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            categoryIndexes.put(category.getId(), categoryNames.size());
+            categoryNames.add(category.getName());
+        }
+        Map<String, Integer> payeeIndexes = new HashMap<>();
+        List<String> payeeNames = new ArrayList<>(payees.size());
+        for (PayeeCount payee : payees) {
+            payeeIndexes.put(payee.payee(), payeeNames.size());
+            payeeNames.add(payee.payee());
+        }
+        List<String> typeNames = new ArrayList<>();
+        for (TransactionType type : TransactionType.values()) {
+            typeNames.add(type.name());
+        }
+
+        List<AutoCloseable> resources = new ArrayList<>();
+        BufferAllocator allocator = exportAllocator.newChildAllocator("export-" + userId, 0, maxMemoryPerExport);
+        try {
+            DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+            dictionaries.put(dictionary(TYPE_DICTIONARY, "type", typeNames, allocator, resources));
+            dictionaries.put(dictionary(ACCOUNT_DICTIONARY, "account", accountNames, allocator, resources));
+            dictionaries.put(dictionary(CATEGORY_DICTIONARY, "category", categoryNames, allocator, resources));
+            dictionaries.put(dictionary(PAYEE_DICTIONARY, "payee", payeeNames, allocator, resources));
+
+            VectorSchemaRoot root = VectorSchemaRoot.create(schema(), allocator);
+            resources.add(root);
+            // Not closed: that would end a failed export as if it were complete, and close the response
+            ArrowStreamWriter writer = new ArrowStreamWriter(root, dictionaries, Channels.newChannel(outputStream));
+
+            BigIntVector id = (BigIntVector) root.getVector("id");
+            DateDayVector date = (DateDayVector) root.getVector("transaction_date");
+            IntVector type = (IntVector) root.getVector("type");
+            DecimalVector amount = (DecimalVector) root.getVector("amount");
+            BigIntVector accountId = (BigIntVector) root.getVector("account_id");
+            IntVector account = (IntVector) root.getVector("account");
+            BigIntVector categoryId = (BigIntVector) root.getVector("category_id");
+            IntVector category = (IntVector) root.getVector("category");
+            BigIntVector transferAccountId = (BigIntVector) root.getVector("transfer_account_id");
+            IntVector payee = (IntVector) root.getVector("payee");
+            VarCharVector description = (VarCharVector) root.getVector("description");
+            VarCharVector reference = (VarCharVector) root.getVector("reference");
+            VarCharVector notes = (VarCharVector) root.getVector("notes");
+            BitVector reconciled = (BitVector) root.getVector("reconciled");
+
+            writer.start();
+            root.allocateNew();
+            int row = 0;
+            try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRowsByUserId(userId)) {
+                Iterator<TransactionExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    TransactionExportRow transaction = iterator.next();
+                    id.setSafe(row, transaction.id());
+                    date.setSafe(row, (int) transaction.transactionDate().toEpochDay());
+                    type.setSafe(row, transaction.type().ordinal());
+                    amount.setSafe(row, transaction.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP));
+                    accountId.setSafe(row, transaction.accountId());
+                    setIndex(account, row, accountIndexes.get(transaction.accountId()));
+                    categoryId.setSafe(row, transaction.categoryId());
+                    setIndex(category, row, categoryIndexes.get(transaction.categoryId()));
+                    if (transaction.transferAccountId() != null) {
+                        transferAccountId.setSafe(row, transaction.transferAccountId());
+                    } else {
+                        transferAccountId.setNull(row);
+                    }
+                    setIndex(payee, row, transaction.payee() != null ? payeeIndexes.get(transaction.payee()) : null);
+                    setText(description, row, transaction.description());
+                    setText(reference, row, transaction.reference());
+                    setText(notes, row, transaction.notes());
+                    reconciled.setSafe(row, Boolean.TRUE.equals(transaction.reconciled()) ? 1 : 0);
+
+                    if (++row == batchRows) {
+                        root.setRowCount(row);
+                        writer.writeBatch();
+                        root.allocateNew();
+                        row = 0;
+                    }
+                }
+            }
+            if (row > 0) {
+                root.setRowCount(row);
+                writer.writeBatch();
+            }
+            writer.end();
+        } finally {
+            try {
+                Collections.reverse(resources);
+                AutoCloseables.close(resources);
+                allocator.close();
+            } catch (Exception ex) {
+                throw new IOException("Could not release export buffers", ex);
+            }
+        }
+    }
+
+    private static Schema schema() {
+        return new Schema(List.of(
+            column("id", new ArrowType.Int(64, true), false),
+            column("transaction_date", new ArrowType.Date(DateUnit.DAY), false),
+            encodedColumn("type", TYPE_DICTIONARY, false),
+            column("amount", new ArrowType.Decimal(AMOUNT_PRECISION, AMOUNT_SCALE, 128), false),
+            column("account_id", new ArrowType.Int(64, true), false),
+            encodedColumn("account", ACCOUNT_DICTIONARY, true),
+            column("category_id", new ArrowType.Int(64, true), false),
+            encodedColumn("category", CATEGORY_DICTIONARY, true),
+            column("transfer_account_id", new ArrowType.Int(64, true), true),
+            encodedColumn("payee", PAYEE_DICTIONARY, true),
+            column("description", ArrowType.Utf8.INSTANCE, true),
+            column("reference", ArrowType.Utf8.INSTANCE, true),
+            column("notes", ArrowType.Utf8.INSTANCE, true),
+            column("reconciled", ArrowType.Bool.INSTANCE, false)
+        ));
+    }
+
+    private static Field column(String name, ArrowType type, boolean nullable) {
+        return new Field(name, new FieldType(nullable, type, null), null);
+    }
+
+    private static Field encodedColumn(String name, long dictionaryId, boolean nullable) {
+        DictionaryEncoding encoding = new DictionaryEncoding(dictionaryId, false, DICTIONARY_INDEX);
+        return new Field(name, new FieldType(nullable, DICTIONARY_INDEX, encoding), null);
+    }
+
+    private static Dictionary dictionary(long id, String name, List<String> values,
+                                         BufferAllocator allocator, List<AutoCloseable> resources) {
+        VarCharVector vector = new VarCharVector(name + "_dictionary", allocator);
+        resources.add(vector);
+        vector.allocateNew(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            setText(vector, i, values.get(i));
+        }
+        vector.setValueCount(values.size());
+        return new Dictionary(vector, new DictionaryEncoding(id, false, DICTIONARY_INDEX));
+    }
+
+    private static void setIndex(IntVector vector, int row, Integer index) {
+        if (index != null) {
+            vector.setSafe(row, index);
+        } else {
+            vector.setNull(row);
+        }
+    }
+
+    private static void setText(VarCharVector vector, int row, String value) {
+        if (value != null) {
+            vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+        } else {
+            vector.setNull(row);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.finance.service;
 
+import com.finance.dto.CursorPage;
 import com.finance.dto.goal.GoalRequest;
 import com.finance.dto.goal.GoalResponse;
 import com.finance.entity.Account;
@@ -7,13 +8,17 @@ import com.finance.entity.Goal;
 import com.finance.entity.Goal.GoalPriority;
 import com.finance.entity.Goal.GoalStatus;
 import com.finance.entity.User;
+import com.finance.event.UserDataChangedEvent;
 import com.finance.exception.ResourceNotFoundException;
 import com.finance.exception.UnauthorizedException;
 import com.finance.mapper.GoalMapper;
 import com.finance.repository.AccountRepository;
 import com.finance.repository.GoalRepository;
 import com.finance.repository.UserRepository;
+import com.finance.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +35,7 @@ public class GoalService {
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final GoalMapper goalMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GoalResponse createGoal(GoalRequest request, String username) {
@@ -58,6 +64,7 @@ public class GoalService {
         }
 
         Goal savedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return goalMapper.toResponse(savedGoal);
     }
 
@@ -78,6 +85,20 @@ public class GoalService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated variant of getAllGoals, in creation order
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GoalResponse> getAllGoalsByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Goal> rows = goalRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+            user.getId(), CursorCodec.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, goalMapper::toResponse, row -> CursorCodec.encode(row.getId()));
+    }
+
     public List<GoalResponse> getGoalsByStatus(String username, GoalStatus status) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
@@ -142,6 +163,7 @@ public class GoalService {
         }
 
         Goal updatedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(goal.getUser().getId()));
         return goalMapper.toResponse(updatedGoal);
     }
 
@@ -160,6 +182,7 @@ public class GoalService {
         }
 
         Goal updatedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(goal.getUser().getId()));
         return goalMapper.toResponse(updatedGoal);
     }
 
@@ -179,6 +202,7 @@ public class GoalService {
         }
 
         Goal updatedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(goal.getUser().getId()));
         return goalMapper.toResponse(updatedGoal);
     }
 
@@ -190,6 +214,7 @@ public class GoalService {
 
         goal.setStatus(status);
         Goal updatedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(goal.getUser().getId()));
         return goalMapper.toResponse(updatedGoal);
     }
 
@@ -199,6 +224,7 @@ public class GoalService {
             .orElseThrow(() -> new ResourceNotFoundException("Goal", "id", id));
         validateGoalOwnership(goal, username);
         goalRepository.delete(goal);
+        eventPublisher.publishEvent(new UserDataChangedEvent(goal.getUser().getId()));
     }
 
     private void validateGoalOwnership(Goal goal, String username) {
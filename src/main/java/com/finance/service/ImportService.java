@@ -0,0 +1,466 @@
+package com.finance.service;
+
+import com.finance.dto.importer.ImportJobResponse;
+import com.finance.entity.Account;
+import com.finance.entity.Category;
+import com.finance.entity.ImportJob;
+import com.finance.entity.ImportJob.ImportFormat;
+import com.finance.entity.ImportJob.ImportStatus;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.entity.User;
+import com.finance.event.RollupsRebuiltEvent;
+import com.finance.event.UserDataChangedEvent;
+import com.finance.exception.BadRequestException;
+import com.finance.exception.ResourceNotFoundException;
+import com.finance.exception.UnauthorizedException;
+import com.finance.index.TransactionFingerprintIndex;
+import com.finance.index.TransactionFingerprintIndex.Fingerprint;
+import com.finance.importer.StatementParser;
+import com.finance.importer.StatementRow;
+import com.finance.mapper.ImportJobMapper;
+import com.finance.repository.AccountRepository;
+import com.finance.repository.CategoryRepository;
+import com.finance.repository.ImportJobRepository;
+import com.finance.repository.TransactionRepository;
+import com.finance.repository.UserRepository;
+import com.finance.util.MoneyAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads bank statements as transactions. The upload is parsed as a stream on a background pool
+ * and inserted in JDBC batches inside one transaction; the account balance and the daily rollups
+ * each receive one aggregated update at the end. Progress is committed separately as it goes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+
+    private static final String INSERT_TRANSACTION =
+        "INSERT INTO transactions (amount, type, transaction_date, description, payee, reference, " +
+        "account_id, category_id, user_id, reconciled, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+    private static final String UPSERT_ROLLUP =
+        "INSERT INTO daily_rollups (user_id, rollup_date, category_id, type, total, transaction_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_id, rollup_date, category_id, type) DO UPDATE SET " +
+        "total = daily_rollups.total + EXCLUDED.total, " +
+        "transaction_count = daily_rollups.transaction_count + EXCLUDED.transaction_count";
+
+    private static final String INSERT_LEDGER_ENTRY =
+        "INSERT INTO ledger_entries (account_id, entry_date, amount, kind, created_at) " +
+        "VALUES (?, ?, ?, 'TRANSACTION', ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ImportJobRepository importJobRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionFingerprintIndex transactionFingerprintIndex;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final ImportJobMapper importJobMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor importExecutor;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Store the upload and queue it for import once the job is committed
+     */
+    @Transactional
+    public ImportJobResponse startImport(
+            MultipartFile file,
+            Long accountId,
+            Long categoryId,
+            Long incomeCategoryId,
+            ImportFormat format,
+            String username) {
+
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        Account account = accountRepository.findById(accountId)
+            .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        validateAccountOwnership(account, username);
+
+        Category category = findOwnedCategory(categoryId, username);
+        Category incomeCategory = incomeCategoryId != null ? findOwnedCategory(incomeCategoryId, username) : null;
+
+        ImportFormat resolvedFormat = format != null ? format : detectFormat(file.getOriginalFilename());
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+            .user(user)
+            .account(account)
+            .category(category)
+            .incomeCategory(incomeCategory)
+            .fileName(file.getOriginalFilename())
+            .format(resolvedFormat)
+            .build());
+
+        Path upload = storeUpload(file);
+        ImportRequest request = new ImportRequest(job.getId(), user.getId(), account.getId(), category.getId(),
+            incomeCategory != null ? incomeCategory.getId() : category.getId(), resolvedFormat, upload);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    submit(request);
+                } else {
+                    deleteUpload(upload);
+                }
+            }
+        });
+
+        return importJobMapper.toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobResponse getImportJob(Long id, String username) {
+        ImportJob job = importJobRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", id));
+
+        if (!job.getUser().getUsername().equals(username)) {
+            throw new UnauthorizedException("You don't have permission to access this import job");
+        }
+        return importJobMapper.toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ImportJobResponse> getImportJobs(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        return importJobRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
+            .stream()
+            .map(importJobMapper::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    private void submit(ImportRequest request) {
+        try {
+            importExecutor.execute(() -> runImport(request));
+        } catch (TaskRejectedException ex) {
+            deleteUpload(request.upload());
+            finish(request.jobId(), ImportStatus.FAILED, new ImportProgress(), "Import queue is full, retry later");
+        }
+    }
+
+    private void runImport(ImportRequest request) {
+        ImportProgress progress = new ImportProgress();
+        try {
+            requiresNew().executeWithoutResult(status ->
+                importJobRepository.updateStatus(request.jobId(), ImportStatus.RUNNING));
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                importRows(request, progress));
+
+            finish(request.jobId(), ImportStatus.COMPLETED, progress, null);
+            log.info("Import job {} loaded {} transactions ({} rejected, {} duplicates skipped)",
+                request.jobId(), progress.imported, progress.failed, progress.duplicates);
+        } catch (RuntimeException ex) {
+            log.warn("Import job {} failed", request.jobId(), ex);
+            progress.imported = 0;
+            finish(request.jobId(), ImportStatus.FAILED, progress, truncate(ex.getMessage(), 500));
+        } finally {
+            deleteUpload(request.upload());
+        }
+    }
+
+    private void importRows(ImportRequest request, ImportProgress progress) {
+        ImportBatch batch = new ImportBatch(request);
+
+        try (InputStream stream = Files.newInputStream(request.upload());
+             Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            StatementParser.forFormat(request.format()).parse(reader, new StatementParser.RowHandler() {
+                @Override
+                public void onRow(StatementRow row) {
+                    progress.processed++;
+                    if (row.amount().signum() == 0) {
+                        progress.reject(row.lineNumber(), "Zero amount");
+                    } else if (batch.isDuplicate(row)) {
+                        progress.duplicates++;
+                    } else {
+                        batch.add(row);
+                        if (batch.size() >= batchSize) {
+                            progress.imported += batch.flush();
+                            reportProgress(request.jobId(), progress);
+                        }
+                    }
+                }
+
+                @Override
+                public void onError(long lineNumber, String message) {
+                    progress.processed++;
+                    progress.reject(lineNumber, message);
+                }
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read the uploaded statement: " + ex.getMessage(), ex);
+        }
+
+        progress.imported += batch.flush();
+        batch.applyAggregates();
+
+        // Derived indexes and caches reload from the new rollups
+        eventPublisher.publishEvent(new UserDataChangedEvent(request.userId()));
+        eventPublisher.publishEvent(new RollupsRebuiltEvent(request.userId()));
+    }
+
+    private void reportProgress(Long jobId, ImportProgress progress) {
+        requiresNew().executeWithoutResult(status ->
+            importJobRepository.updateProgress(jobId, progress.processed, progress.imported, progress.failed,
+                progress.duplicates));
+    }
+
+    private void finish(Long jobId, ImportStatus status, ImportProgress progress, String errorMessage) {
+        requiresNew().executeWithoutResult(tx -> importJobRepository.complete(jobId, status,
+            progress.processed, progress.imported, progress.failed, progress.duplicates, progress.report(),
+            errorMessage, LocalDateTime.now()));
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static ImportFormat detectFormat(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return ImportFormat.OFX;
+        }
+        if (name.endsWith(".qif")) {
+            return ImportFormat.QIF;
+        }
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return ImportFormat.CSV;
+        }
+        throw new BadRequestException("Cannot tell the statement format from the file name; pass format explicitly");
+    }
+
+    private static Path storeUpload(MultipartFile file) {
+        try {
+            Path upload = Files.createTempFile("statement-import-", ".tmp");
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return upload;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not store the uploaded statement", ex);
+        }
+    }
+
+    private static void deleteUpload(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException ex) {
+            log.warn("Could not delete uploaded statement {}", upload, ex);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    private Category findOwnedCategory(Long categoryId, String username) {
+        Category category = categoryRepository.findById(categoryId)
+            .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+        if (!category.getUser().getUsername().equals(username)) {
+            throw new UnauthorizedException("You don't have permission to access this category");
+        }
+        return category;
+    }
+
+    private void validateAccountOwnership(Account account, String username) {
+        if (!account.getUser().getUsername().equals(username)) {
+            throw new UnauthorizedException("You don't have permission to access this account");
+        }
+    }
+
+    private record ImportRequest(
+        Long jobId,
+        Long userId,
+        Long accountId,
+        Long expenseCategoryId,
+        Long incomeCategoryId,
+        ImportFormat format,
+        Path upload
+    ) {}
+
+    private record RollupKey(LocalDate day, Long categoryId, TransactionType type) {}
+
+    private static final class RollupDelta {
+        private final MoneyAccumulator total = new MoneyAccumulator();
+        private long count;
+    }
+
+    /**
+     * Rows waiting for the next JDBC batch, plus the balance and rollup changes of all rows so far
+     */
+    private final class ImportBatch {
+
+        private final ImportRequest request;
+        // Duplicates are looked for among rows that existed before this import only
+        private final Long lastExistingId;
+        private final Map<Fingerprint, Long> confirmedDuplicates = new HashMap<>();
+        private final List<Object[]> pending = new ArrayList<>();
+        private final MoneyAccumulator balanceDelta = new MoneyAccumulator();
+        private final Map<LocalDate, MoneyAccumulator> ledgerDeltas = new HashMap<>();
+        private final Map<RollupKey, RollupDelta> rollupDeltas = new HashMap<>();
+
+        ImportBatch(ImportRequest request) {
+            this.request = request;
+            this.lastExistingId = transactionRepository.findMaxIdByAccountId(request.accountId());
+        }
+
+        /**
+         * Whether the row repeats a transaction already on the account, as when overlapping
+         * statements are uploaded. The Bloom filter clears most rows without a query; each hit
+         * is confirmed by counting exact matches, and every existing match absorbs one row only,
+         * so genuinely repeated purchases beyond those already recorded are still imported.
+         */
+        boolean isDuplicate(StatementRow row) {
+            if (lastExistingId == null) {
+                return false;
+            }
+            TransactionType type = row.amount().signum() > 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            Fingerprint fingerprint = Fingerprint.of(type, row.amount(), row.date(),
+                truncate(row.payee(), 200), truncate(row.reference(), 100));
+            if (!transactionFingerprintIndex.mightContain(request.userId(), request.accountId(), fingerprint)) {
+                return false;
+            }
+
+            long existing = transactionRepository.countMatching(request.accountId(), lastExistingId,
+                fingerprint.date(), fingerprint.type(), fingerprint.amount(), fingerprint.payee(), fingerprint.reference());
+            long matched = confirmedDuplicates.getOrDefault(fingerprint, 0L);
+            if (existing <= matched) {
+                return false;
+            }
+            confirmedDuplicates.put(fingerprint, matched + 1);
+            return true;
+        }
+
+        int size() {
+            return pending.size();
+        }
+
+        void add(StatementRow row) {
+            boolean income = row.amount().signum() > 0;
+            TransactionType type = income ? TransactionType.INCOME : TransactionType.EXPENSE;
+            Long categoryId = income ? request.incomeCategoryId() : request.expenseCategoryId();
+            BigDecimal amount = row.amount().abs();
+            LocalDateTime now = LocalDateTime.now();
+
+            pending.add(new Object[] {
+                amount, type.name(), row.date(),
+                truncate(row.description(), 500), truncate(row.payee(), 200), truncate(row.reference(), 100),
+                request.accountId(), categoryId, request.userId(), now, now
+            });
+
+            balanceDelta.add(row.amount());
+            ledgerDeltas.computeIfAbsent(row.date(), day -> new MoneyAccumulator()).add(row.amount());
+            RollupDelta delta = rollupDeltas.computeIfAbsent(new RollupKey(row.date(), categoryId, type),
+                key -> new RollupDelta());
+            delta.total.add(amount);
+            delta.count++;
+        }
+
+        int flush() {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, pending);
+            int inserted = pending.size();
+            pending.clear();
+            return inserted;
+        }
+
+        void applyAggregates() {
+            accountRepository.addToBalance(request.accountId(), balanceDelta.total());
+
+            // One ledger entry per statement day keeps point-in-time balances exact
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> entries = new ArrayList<>(ledgerDeltas.size());
+            ledgerDeltas.forEach((day, total) -> entries.add(new Object[] {
+                request.accountId(), day, total.total(), now
+            }));
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY, entries.subList(from, Math.min(from + batchSize, entries.size())));
+            }
+
+            List<Object[]> upserts = new ArrayList<>(rollupDeltas.size());
+            rollupDeltas.forEach((key, delta) -> upserts.add(new Object[] {
+                request.userId(), key.day(), key.categoryId(), key.type().name(), delta.total.total(), delta.count
+            }));
+            for (int from = 0; from < upserts.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPSERT_ROLLUP, upserts.subList(from, Math.min(from + batchSize, upserts.size())));
+            }
+        }
+    }
+
+    private static final class ImportProgress {
+        private long processed;
+        private long imported;
+        private long failed;
+        private long duplicates;
+        private final StringBuilder report = new StringBuilder();
+
+        void reject(long lineNumber, String message) {
+            failed++;
+            if (failed <= MAX_REPORTED_ERRORS) {
+                report.append("Line ").append(lineNumber).append(": ").append(message).append('\n');
+            }
+        }
+
+        String report() {
+            if (failed == 0) {
+                return null;
+            }
+            if (failed > MAX_REPORTED_ERRORS) {
+                return report + "... and " + (failed - MAX_REPORTED_ERRORS) + " more rejected rows\n";
+            }
+            return report.toString();
+        }
+    }
+}
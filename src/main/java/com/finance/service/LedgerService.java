@@ -0,0 +1,162 @@
+package com.finance.service;
+
+import com.finance.dto.account.AccountBalanceResponse;
+import com.finance.entity.Account;
+import com.finance.entity.LedgerEntry;
+import com.finance.entity.LedgerEntry.EntryKind;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.exception.ResourceNotFoundException;
+import com.finance.exception.UnauthorizedException;
+import com.finance.repository.AccountRepository;
+import com.finance.repository.BalanceSnapshotRepository;
+import com.finance.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the append-only history of account balances. Writes only insert ledger entries;
+ * a scheduled job stores daily snapshots so past balances are read as a snapshot plus a short tail.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ledger.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.ledger.snapshot.max-accounts-per-run:500}")
+    private int maxAccountsPerRun;
+
+    /**
+     * Record the balance effect of a transaction write as part of the writing transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionSnapshot before = event.before();
+        TransactionSnapshot after = event.after();
+
+        if (before != null) {
+            record(before.accountId(), before.id(), before.transactionDate(),
+                TransactionService.balanceChange(before.amount(), before.type()).negate(), EntryKind.TRANSACTION);
+        }
+        if (after != null) {
+            record(after.accountId(), after.id(), after.transactionDate(),
+                TransactionService.balanceChange(after.amount(), after.type()), EntryKind.TRANSACTION);
+        }
+    }
+
+    @Transactional
+    public void recordOpeningBalance(Account account) {
+        record(account.getId(), null, LocalDate.now(), account.getBalance(), EntryKind.OPENING);
+    }
+
+    /**
+     * Record a balance set by hand, as the difference from the previous balance
+     */
+    @Transactional
+    public void recordAdjustment(Account account, BigDecimal previousBalance) {
+        BigDecimal adjustment = account.getBalance().subtract(previousBalance);
+        if (adjustment.signum() != 0) {
+            record(account.getId(), null, LocalDate.now(), adjustment, EntryKind.ADJUSTMENT);
+        }
+    }
+
+    /**
+     * Remove the history of an account that is being deleted
+     */
+    @Transactional
+    public void deleteAccountHistory(Long accountId) {
+        balanceSnapshotRepository.deleteByAccountId(accountId);
+        ledgerEntryRepository.deleteByAccountId(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalanceAsOf(Long accountId, LocalDate date, String username) {
+        Account account = accountRepository.findById(accountId)
+            .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+
+        if (!account.getUser().getUsername().equals(username)) {
+            throw new UnauthorizedException("You don't have permission to access this account");
+        }
+
+        BigDecimal balance = balanceSnapshotRepository.findBalanceAsOf(accountId, date);
+        return new AccountBalanceResponse(accountId, date, balance);
+    }
+
+    /**
+     * Snapshot the end-of-day balance of yesterday for accounts that moved since their last snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.snapshot.interval-ms:3600000}")
+    public void writeSnapshots() {
+        LocalDate asOf = LocalDate.now().minusDays(1);
+        List<Long> accountIds = balanceSnapshotRepository.findAccountIdsDueForSnapshot(asOf, maxAccountsPerRun);
+
+        int written = 0;
+        for (Long accountId : accountIds) {
+            try {
+                Integer rows = transactionTemplate.execute(status ->
+                    balanceSnapshotRepository.insertSnapshot(accountId, asOf));
+                written += rows != null ? rows : 0;
+            } catch (DataAccessException ex) {
+                // Typically the account was deleted meanwhile
+                log.debug("Skipped balance snapshot of account {}: {}", accountId, ex.getMessage());
+            }
+        }
+        if (written > 0) {
+            log.info("Wrote {} balance snapshots as of {}", written, asOf);
+        }
+    }
+
+    /**
+     * Build the ledger of accounts that predate it from their transactions and current balance
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingLedgers() {
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        List<Long> accountIds = ledgerEntryRepository.findAccountIdsWithoutEntries();
+        for (Long accountId : accountIds) {
+            Integer rows = transactionTemplate.execute(status -> {
+                int entries = ledgerEntryRepository.insertFromTransactions(accountId);
+                ledgerEntryRepository.insertOpeningBalance(accountId);
+                return entries + 1;
+            });
+            log.info("Backfilled {} ledger entries for account {}", rows, accountId);
+        }
+    }
+
+    private void record(Long accountId, Long transactionId, LocalDate entryDate, BigDecimal amount, EntryKind kind) {
+        ledgerEntryRepository.save(LedgerEntry.builder()
+            .account(accountRepository.getReferenceById(accountId))
+            .transactionId(transactionId)
+            .entryDate(entryDate)
+            .amount(amount)
+            .kind(kind)
+            .createdAt(LocalDateTime.now())
+            .build());
+    }
+}
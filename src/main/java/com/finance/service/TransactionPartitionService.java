@@ -0,0 +1,38 @@
+package com.finance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of the transactions table created ahead of the calendar, so new rows
+ * land in their own month rather than the default partition. Runs at startup, then daily.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionPartitionService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(fixedDelayString = "${app.partitions.interval-ms:86400000}")
+    public void ensureUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        try {
+            for (int i = 0; i <= monthsAhead; i++) {
+                jdbcTemplate.update("CALL ensure_transaction_partition(?)", month.plusMonths(i));
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not create upcoming transaction partitions", ex);
+        }
+    }
+}
@@ -1,38 +1,85 @@
 package com.finance.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.dto.CursorPage;
+import com.finance.dto.transaction.BatchOperationRequest;
+import com.finance.dto.transaction.BatchOperationRequest.BatchOperationType;
+import com.finance.dto.transaction.BatchOperationResult;
+import com.finance.dto.transaction.BatchTransactionRequest;
+import com.finance.dto.transaction.PayeeSuggestionResponse;
 import com.finance.dto.transaction.TransactionRequest;
 import com.finance.dto.transaction.TransactionResponse;
 import com.finance.entity.Account;
+import com.finance.entity.BaseEntity;
 import com.finance.entity.Category;
 import com.finance.entity.Transaction;
 import com.finance.entity.User;
+import com.finance.event.TransactionChangedEvent;
+import com.finance.event.TransactionSnapshot;
+import com.finance.event.UserDataChangedEvent;
+import com.finance.exception.BadRequestException;
 import com.finance.exception.ResourceNotFoundException;
 import com.finance.exception.UnauthorizedException;
+import com.finance.index.PayeeSuggestionIndex;
+import com.finance.index.TransactionSearchIndex;
 import com.finance.mapper.TransactionMapper;
 import com.finance.repository.AccountRepository;
 import com.finance.repository.CategoryRepository;
 import com.finance.repository.TransactionRepository;
 import com.finance.repository.UserRepository;
+import com.finance.util.CursorCodec;
+import com.finance.util.CursorCodec.DateIdCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    // Rows written between flushes of a streamed response
+    private static final int STREAM_FLUSH_ROWS = 200;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final TransactionMapper transactionMapper;
+    private final DailyRollupService dailyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionSearchIndex transactionSearchIndex;
+    private final PayeeSuggestionIndex payeeSuggestionIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request, String username) {
@@ -69,9 +116,12 @@ public class TransactionService {
         }
 
         // Update account balance
-        updateAccountBalance(account, request.amount(), request.type());
+        adjustBalance(account, balanceChange(request.amount(), request.type()));
 
         Transaction saved = transactionRepository.save(transaction);
+        dailyRollupService.recordTransaction(saved);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), null, TransactionSnapshot.of(saved)));
         return transactionMapper.toResponse(saved);
     }
 
@@ -116,24 +166,140 @@ public class TransactionService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Date range as newline-delimited JSON, one transaction per line, oldest first.
+     * The user is resolved now so errors still map to a status code; rows are then read
+     * through a database cursor while the body is written, detaching each one once sent,
+     * so memory does not grow with the size of the range.
+     */
+    public StreamingResponseBody streamTransactionsByDateRange(
+        String username, LocalDate startDate, LocalDate endDate
+    ) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        Long userId = user.getId();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        return outputStream -> readOnly.executeWithoutResult(status -> {
+            try (Stream<Transaction> rows = transactionRepository.streamByUserIdAndDateRange(userId, startDate, endDate);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                int written = 0;
+                for (Transaction transaction : (Iterable<Transaction>) rows::iterator) {
+                    generator.writeObject(transactionMapper.toResponse(transaction));
+                    generator.writeRaw('\n');
+                    entityManager.detach(transaction);
+                    if (++written % STREAM_FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     @Transactional(readOnly = true)
     public Page<TransactionResponse> searchTransactions(String username, String keyword, Pageable pageable) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
-        return transactionRepository.searchByUserIdAndKeyword(user.getId(), keyword, pageable)
+        // Both paths return the same total order, so pages stay stable when the index loads or is evicted
+        Pageable ordered = PageRequest.of(
+            pageable.getPageNumber(), pageable.getPageSize(), searchOrder(pageable.getSort()));
+        if (keyword.length() >= TransactionSearchIndex.MIN_QUERY_LENGTH
+                && TransactionSearchIndex.canOrderBy(ordered.getSort())) {
+            Optional<List<TransactionSearchIndex.Match>> matches =
+                transactionSearchIndex.search(user.getId(), keyword, ordered.getSort());
+            if (matches.isPresent()) {
+                return toMatchPage(matches.get(), ordered);
+            }
+        }
+
+        // Short keywords, orders on other columns, or an index still loading
+        return transactionRepository.searchByUserIdAndKeyword(user.getId(), keyword, ordered)
             .map(transactionMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public List<PayeeSuggestionResponse> suggestPayees(String username, String prefix, int limit) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        return payeeSuggestionIndex.suggest(user.getId(), prefix, Math.max(1, Math.min(limit, 50)));
+    }
+
+    /**
+     * Keyset-paginated variant of getAllTransactions, newest first, without a total count
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> getAllTransactionsByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstByUserId(user.getId(), limit);
+        } else {
+            DateIdCursor after = CursorCodec.decodeDateId(cursor);
+            rows = transactionRepository.findByUserIdAfter(user.getId(), after.date(), after.id(), limit);
+        }
+        return toCursorPage(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> getTransactionsByAccountByCursor(
+            Long accountId, String username, String cursor, int size) {
+        Account account = accountRepository.findById(accountId)
+            .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        validateAccountOwnership(account, username);
+
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstByAccountId(accountId, limit);
+        } else {
+            DateIdCursor after = CursorCodec.decodeDateId(cursor);
+            rows = transactionRepository.findByAccountIdAfter(accountId, after.date(), after.id(), limit);
+        }
+        return toCursorPage(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> searchTransactionsByCursor(
+            String username, String keyword, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.searchFirstByUserIdAndKeyword(user.getId(), keyword, limit);
+        } else {
+            DateIdCursor after = CursorCodec.decodeDateId(cursor);
+            rows = transactionRepository.searchByUserIdAndKeywordAfter(
+                user.getId(), keyword, after.date(), after.id(), limit);
+        }
+        return toCursorPage(rows, pageSize);
+    }
+
     @Transactional
     public TransactionResponse updateTransaction(Long id, TransactionRequest request, String username) {
         Transaction transaction = transactionRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", id));
 
         validateTransactionOwnership(transaction, username);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
 
-        // Restore old balance
-        updateAccountBalance(transaction.getAccount(), transaction.getAmount().negate(), transaction.getType());
+        // Remember the old balance effect and remove the old values from the daily rollups
+        Account previousAccount = transaction.getAccount();
+        BigDecimal reversal = balanceChange(transaction.getAmount(), transaction.getType()).negate();
+        dailyRollupService.reverseTransaction(transaction);
 
         Account account = accountRepository.findById(request.accountId())
             .orElseThrow(() -> new ResourceNotFoundException("Account", "id", request.accountId()));
@@ -166,10 +332,20 @@ public class TransactionService {
             transaction.setReconciled(request.reconciled());
         }
 
-        // Apply new balance
-        updateAccountBalance(account, request.amount(), request.type());
+        // Restore the old balance and apply the new one, in a single update when the account is unchanged
+        BigDecimal change = balanceChange(request.amount(), request.type());
+        if (previousAccount.getId().equals(account.getId())) {
+            adjustBalance(account, reversal.add(change));
+        } else {
+            adjustBalance(previousAccount, reversal);
+            adjustBalance(account, change);
+        }
 
         Transaction updated = transactionRepository.save(transaction);
+        dailyRollupService.recordTransaction(updated);
+        eventPublisher.publishEvent(new UserDataChangedEvent(updated.getUser().getId()));
+        eventPublisher.publishEvent(new TransactionChangedEvent(
+            updated.getUser().getId(), before, TransactionSnapshot.of(updated)));
         return transactionMapper.toResponse(updated);
     }
 
@@ -181,24 +357,247 @@ public class TransactionService {
         validateTransactionOwnership(transaction, username);
 
         // Restore account balance
-        updateAccountBalance(transaction.getAccount(), transaction.getAmount().negate(), transaction.getType());
+        adjustBalance(transaction.getAccount(), balanceChange(transaction.getAmount(), transaction.getType()).negate());
+        dailyRollupService.reverseTransaction(transaction);
 
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(new UserDataChangedEvent(transaction.getUser().getId()));
+        eventPublisher.publishEvent(new TransactionChangedEvent(transaction.getUser().getId(), before, null));
     }
 
-    private void updateAccountBalance(Account account, BigDecimal amount, Transaction.TransactionType type) {
-        BigDecimal currentBalance = account.getBalance();
-        BigDecimal newBalance;
+    /**
+     * Apply creates, updates and deletes in one transaction: any failing operation rolls back the whole batch.
+     * Referenced rows are loaded with one query per entity type, and each account balance and rollup row
+     * is written once with the net change of the batch.
+     */
+    @Transactional
+    public List<BatchOperationResult> applyBatch(BatchTransactionRequest request, String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        List<BatchOperationRequest> operations = request.operations();
+        validateBatchOperations(operations);
+
+        Set<Long> transactionIds = new HashSet<>();
+        Set<Long> accountIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (BatchOperationRequest operation : operations) {
+            if (operation.id() != null) {
+                transactionIds.add(operation.id());
+            }
+            if (operation.transaction() != null) {
+                accountIds.add(operation.transaction().accountId());
+                categoryIds.add(operation.transaction().categoryId());
+                if (operation.transaction().transferAccountId() != null) {
+                    accountIds.add(operation.transaction().transferAccountId());
+                }
+            }
+        }
+
+        Map<Long, Transaction> transactions = findOwned(transactionRepository.findAllById(transactionIds),
+            transactionIds, Transaction::getUser, user, "Transaction");
+        // Accounts of modified transactions get their balance restored
+        transactions.values().forEach(transaction -> accountIds.add(transaction.getAccount().getId()));
+        Map<Long, Account> accounts = findOwned(accountRepository.findAllById(accountIds),
+            accountIds, Account::getUser, user, "Account");
+        Map<Long, Category> categories = findOwned(categoryRepository.findAllById(categoryIds),
+            categoryIds, Category::getUser, user, "Category");
+
+        Map<Long, BigDecimal> balanceChanges = new HashMap<>();
+        List<TransactionSnapshot> reversed = new ArrayList<>();
+        List<TransactionSnapshot> recorded = new ArrayList<>();
+        List<TransactionChangedEvent> events = new ArrayList<>();
+        Map<Integer, Transaction> written = new LinkedHashMap<>();
+        Set<Long> deleted = new HashSet<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationRequest operation = operations.get(index);
+            TransactionSnapshot before = null;
+            Transaction transaction;
+
+            if (operation.operation() == BatchOperationType.CREATE) {
+                transaction = Transaction.builder()
+                    .user(user)
+                    .reconciled(false)
+                    .build();
+            } else {
+                if (deleted.contains(operation.id())) {
+                    throw new ResourceNotFoundException("Transaction", "id", operation.id());
+                }
+                transaction = transactions.get(operation.id());
+                before = TransactionSnapshot.of(transaction);
+                reversed.add(before);
+                balanceChanges.merge(before.accountId(), balanceChange(before.amount(), before.type()).negate(),
+                    BigDecimal::add);
+            }
+
+            TransactionSnapshot after = null;
+            if (operation.operation() == BatchOperationType.DELETE) {
+                transactionRepository.delete(transaction);
+                deleted.add(operation.id());
+            } else {
+                applyRequest(transaction, operation.transaction(), accounts, categories);
+                transaction = transactionRepository.save(transaction);
+                after = TransactionSnapshot.of(transaction);
+                recorded.add(after);
+                balanceChanges.merge(after.accountId(), balanceChange(after.amount(), after.type()),
+                    BigDecimal::add);
+                written.put(index, transaction);
+            }
+            events.add(new TransactionChangedEvent(user.getId(), before, after));
+        }
+
+        // One balance update per account, with the net change of the batch
+        balanceChanges.forEach((accountId, change) -> adjustBalance(accounts.get(accountId), change));
+        dailyRollupService.applyChanges(user.getId(), reversed, recorded);
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+        events.forEach(eventPublisher::publishEvent);
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationRequest operation = operations.get(index);
+            Transaction transaction = written.get(index);
+            results.add(new BatchOperationResult(
+                index,
+                operation.operation(),
+                transaction != null ? transaction.getId() : operation.id(),
+                transaction != null ? transactionMapper.toResponse(transaction) : null
+            ));
+        }
+        return results;
+    }
+
+    /**
+     * Add to the balance in the database, then reload the managed account so responses show the committed value.
+     * The account entity itself is never written here, so concurrent writers cannot lose each other's changes.
+     */
+    private void adjustBalance(Account account, BigDecimal change) {
+        if (change.signum() == 0) {
+            return;
+        }
+        accountRepository.addToBalance(account.getId(), change);
+        entityManager.refresh(account);
+    }
+
+    /**
+     * Signed effect of a transaction on its account's balance
+     */
+    static BigDecimal balanceChange(BigDecimal amount, Transaction.TransactionType type) {
+        return switch (type) {
+            case INCOME -> amount;
+            case EXPENSE, TRANSFER -> amount.negate();
+        };
+    }
+
+    private void applyRequest(
+            Transaction transaction,
+            TransactionRequest request,
+            Map<Long, Account> accounts,
+            Map<Long, Category> categories) {
+        transaction.setAmount(request.amount());
+        transaction.setType(request.type());
+        transaction.setTransactionDate(request.transactionDate());
+        transaction.setDescription(request.description());
+        transaction.setPayee(request.payee());
+        transaction.setReference(request.reference());
+        transaction.setNotes(request.notes());
+        transaction.setAccount(accounts.get(request.accountId()));
+        transaction.setCategory(categories.get(request.categoryId()));
+        transaction.setTransferAccount(
+            request.transferAccountId() != null ? accounts.get(request.transferAccountId()) : null);
+        if (request.reconciled() != null) {
+            transaction.setReconciled(request.reconciled());
+        }
+    }
+
+    /**
+     * The requested search order, newest first when none is given, with id breaking ties
+     */
+    private static Sort searchOrder(Sort sort) {
+        Sort order = sort.isSorted() ? sort : Sort.by(Sort.Direction.DESC, "transactionDate");
+        if (order.getOrderFor("id") != null) {
+            return order;
+        }
+        Sort.Direction last = order.stream().reduce((first, second) -> second).orElseThrow().getDirection();
+        return order.and(Sort.by(last, "id"));
+    }
+
+    /**
+     * Hydrate one page of matched ids with a single IN query, keeping the index's order
+     */
+    private Page<TransactionResponse> toMatchPage(List<TransactionSearchIndex.Match> matches, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<TransactionSearchIndex.Match> pageMatches = matches.subList(from, to);
+        if (pageMatches.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
 
-        switch (type) {
-            case INCOME -> newBalance = currentBalance.add(amount);
-            case EXPENSE -> newBalance = currentBalance.subtract(amount);
-            case TRANSFER -> newBalance = currentBalance.subtract(amount);
-            default -> newBalance = currentBalance;
+        List<Long> pageIds = new ArrayList<>(pageMatches.size());
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (TransactionSearchIndex.Match match : pageMatches) {
+            pageIds.add(match.id());
+            firstDay = Math.min(firstDay, match.epochDay());
+            lastDay = Math.max(lastDay, match.epochDay());
         }
 
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+        Map<Long, Transaction> byId = transactionRepository.findByIdInAndTransactionDateBetween(
+                pageIds, LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(lastDay)).stream()
+            .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        List<TransactionResponse> content = pageIds.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(transactionMapper::toResponse)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    private CursorPage<TransactionResponse> toCursorPage(List<Transaction> rows, int size) {
+        return CursorPage.of(rows, size, transactionMapper::toResponse,
+            transaction -> CursorCodec.encode(transaction.getTransactionDate(), transaction.getId()));
+    }
+
+    private void validateBatchOperations(List<BatchOperationRequest> operations) {
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationRequest operation = operations.get(index);
+            boolean needsId = operation.operation() != BatchOperationType.CREATE;
+            boolean needsTransaction = operation.operation() != BatchOperationType.DELETE;
+
+            if (needsId && operation.id() == null) {
+                throw new BadRequestException("Operation " + index + ": id is required for " + operation.operation());
+            }
+            if (needsTransaction && operation.transaction() == null) {
+                throw new BadRequestException(
+                    "Operation " + index + ": transaction is required for " + operation.operation());
+            }
+        }
+    }
+
+    /**
+     * Index rows loaded with one IN query, failing on the first id that is missing or owned by someone else
+     */
+    private static <T extends BaseEntity> Map<Long, T> findOwned(
+            List<T> found,
+            Set<Long> ids,
+            Function<T, User> owner,
+            User user,
+            String resourceName) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity == null) {
+                throw new ResourceNotFoundException(resourceName, "id", id);
+            }
+            // Comparing ids does not initialize the lazy owner
+            if (!owner.apply(entity).getId().equals(user.getId())) {
+                throw new UnauthorizedException(
+                    "You don't have permission to access this " + resourceName.toLowerCase());
+            }
+        }
+        return byId;
     }
 
     private void validateTransactionOwnership(Transaction transaction, String username) {
@@ -0,0 +1,77 @@
+package com.finance.util;
+
+import com.finance.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token carries the sort key of the last
+ * row returned; clients must pass it back unchanged.
+ */
+public final class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    public record DateIdCursor(LocalDate date, Long id) {}
+
+    public static String encode(LocalDate date, Long id) {
+        return encode("d:" + date + ":" + id);
+    }
+
+    public static String encode(Long id) {
+        return encode("i:" + id);
+    }
+
+    public static DateIdCursor decodeDateId(String cursor) {
+        String[] parts = decode(cursor).split(":");
+        if (parts.length != 3 || !parts[0].equals("d")) {
+            throw invalid();
+        }
+        try {
+            return new DateIdCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Id after which the next slice starts; 0 for the first slice
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String[] parts = decode(cursor).split(":");
+        if (parts.length != 2 || !parts[0].equals("i")) {
+            throw invalid();
+        }
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException ex) {
+            throw invalid();
+        }
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalid();
+        }
+    }
+
+    private static BadRequestException invalid() {
+        return new BadRequestException("Invalid pagination cursor");
+    }
+}
@@ -0,0 +1,146 @@
+package com.finance.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Money totals and counts keyed by a primitive long, such as a category id, without boxing
+ * keys or allocating per addition. Keys are numbered in insertion order; totals that
+ * overflow a long number of cents continue exactly as a BigDecimal.
+ */
+public final class LongMoneyMap {
+
+    private static final int EMPTY = -1;
+
+    // Open-addressing table from key to ordinal
+    private long[] slotKeys;
+    private int[] slotOrdinals;
+
+    // Values by ordinal
+    private long[] keys;
+    private long[] cents;
+    private long[] counts;
+    private BigDecimal[] exact;
+    private int size;
+
+    public LongMoneyMap() {
+        this(16);
+    }
+
+    public LongMoneyMap(int expectedSize) {
+        int capacity = 8;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        slotKeys = new long[capacity];
+        slotOrdinals = new int[capacity];
+        Arrays.fill(slotOrdinals, EMPTY);
+
+        keys = new long[capacity / 2];
+        cents = new long[capacity / 2];
+        counts = new long[capacity / 2];
+    }
+
+    /**
+     * Add an amount and a count to the totals of a key.
+     *
+     * @return the ordinal of the key
+     */
+    public int add(long key, BigDecimal amount, long count) {
+        int ordinal = ordinalOf(key, true);
+
+        if (exact == null || exact[ordinal] == null) {
+            try {
+                cents[ordinal] = Math.addExact(cents[ordinal], MoneyAccumulator.toCents(amount));
+                counts[ordinal] += count;
+                return ordinal;
+            } catch (ArithmeticException ex) {
+                if (exact == null) {
+                    exact = new BigDecimal[keys.length];
+                }
+                exact[ordinal] = MoneyAccumulator.fromCents(cents[ordinal]);
+            }
+        }
+        exact[ordinal] = exact[ordinal].add(amount.setScale(2, RoundingMode.HALF_UP));
+        counts[ordinal] += count;
+        return ordinal;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long keyAt(int ordinal) {
+        return keys[ordinal];
+    }
+
+    public BigDecimal totalAt(int ordinal) {
+        return exact != null && exact[ordinal] != null ? exact[ordinal] : MoneyAccumulator.fromCents(cents[ordinal]);
+    }
+
+    public long countAt(int ordinal) {
+        return counts[ordinal];
+    }
+
+    /**
+     * Total of a key, or zero if nothing was added for it
+     */
+    public BigDecimal totalOf(long key) {
+        int ordinal = ordinalOf(key, false);
+        return ordinal == EMPTY ? BigDecimal.ZERO : totalAt(ordinal);
+    }
+
+    private int ordinalOf(long key, boolean insert) {
+        int mask = slotKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (slotOrdinals[slot] != EMPTY) {
+            if (slotKeys[slot] == key) {
+                return slotOrdinals[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!insert) {
+            return EMPTY;
+        }
+
+        if (size == keys.length) {
+            grow();
+            return ordinalOf(key, true);
+        }
+        int ordinal = size++;
+        slotKeys[slot] = key;
+        slotOrdinals[slot] = ordinal;
+        keys[ordinal] = key;
+        return ordinal;
+    }
+
+    private void grow() {
+        int capacity = slotKeys.length * 2;
+        slotKeys = new long[capacity];
+        slotOrdinals = new int[capacity];
+        Arrays.fill(slotOrdinals, EMPTY);
+
+        int mask = capacity - 1;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int slot = hash(keys[ordinal]) & mask;
+            while (slotOrdinals[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slotKeys[slot] = keys[ordinal];
+            slotOrdinals[slot] = ordinal;
+        }
+
+        keys = Arrays.copyOf(keys, capacity / 2);
+        cents = Arrays.copyOf(cents, capacity / 2);
+        counts = Arrays.copyOf(counts, capacity / 2);
+        if (exact != null) {
+            exact = Arrays.copyOf(exact, capacity / 2);
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,58 @@
+package com.finance.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running sum of money amounts kept as a long number of cents. Adding does not allocate;
+ * if the sum no longer fits in a long it continues exactly as a BigDecimal.
+ */
+public final class MoneyAccumulator {
+
+    private long cents;
+    private BigDecimal exact;
+
+    public MoneyAccumulator add(BigDecimal amount) {
+        if (exact == null) {
+            try {
+                cents = Math.addExact(cents, toCents(amount));
+                return this;
+            } catch (ArithmeticException ex) {
+                exact = fromCents(cents);
+            }
+        }
+        exact = exact.add(amount.setScale(2, RoundingMode.HALF_UP));
+        return this;
+    }
+
+    public MoneyAccumulator addCents(long delta) {
+        if (exact == null) {
+            try {
+                cents = Math.addExact(cents, delta);
+                return this;
+            } catch (ArithmeticException ex) {
+                exact = fromCents(cents);
+            }
+        }
+        exact = exact.add(fromCents(delta));
+        return this;
+    }
+
+    public BigDecimal total() {
+        return exact != null ? exact : fromCents(cents);
+    }
+
+    /**
+     * Amount in cents, rounded half up like a numeric(19, 2) column. Goes through a scale 0
+     * BigDecimal rather than unscaledValue(), which would allocate a BigInteger per call.
+     *
+     * @throws ArithmeticException if the amount does not fit in a long number of cents
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).scaleByPowerOfTen(2).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,110 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update) from the entities of that time.
+-- Databases created that way are baselined at this version, so this script only runs on empty
+-- databases; everything added since lives in later migrations.
+
+CREATE TABLE users (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    username    varchar(50)  NOT NULL,
+    email       varchar(100) NOT NULL,
+    password    varchar(255) NOT NULL,
+    first_name  varchar(100),
+    last_name   varchar(100),
+    role        varchar(20)  NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    enabled     boolean      NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE accounts (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   timestamp(6)   NOT NULL,
+    updated_at   timestamp(6)   NOT NULL,
+    name         varchar(100)   NOT NULL,
+    description  varchar(500),
+    type         varchar(30)    NOT NULL
+        CHECK (type IN ('CHECKING', 'SAVINGS', 'CREDIT_CARD', 'INVESTMENT', 'CASH', 'LOAN', 'OTHER')),
+    balance      numeric(19, 2) NOT NULL,
+    currency     varchar(3),
+    active       boolean        NOT NULL,
+    user_id      bigint         NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE categories (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6) NOT NULL,
+    name         varchar(100) NOT NULL,
+    description  varchar(500),
+    type         varchar(20)  NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    icon         varchar(20),
+    color        varchar(7),
+    parent_id    bigint REFERENCES categories (id),
+    user_id      bigint       NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at           timestamp(6)   NOT NULL,
+    updated_at           timestamp(6)   NOT NULL,
+    amount               numeric(19, 2) NOT NULL,
+    type                 varchar(20)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE', 'TRANSFER')),
+    transaction_date     date           NOT NULL,
+    description          varchar(500),
+    payee                varchar(200),
+    reference            varchar(100),
+    notes                varchar(500),
+    account_id           bigint         NOT NULL REFERENCES accounts (id),
+    category_id          bigint         NOT NULL REFERENCES categories (id),
+    user_id              bigint         NOT NULL REFERENCES users (id),
+    transfer_account_id  bigint REFERENCES accounts (id),
+    reconciled           boolean        NOT NULL
+);
+
+CREATE INDEX idx_transaction_date ON transactions (transaction_date);
+CREATE INDEX idx_account_id ON transactions (account_id);
+CREATE INDEX idx_category_id ON transactions (category_id);
+
+CREATE TABLE budgets (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at       timestamp(6)   NOT NULL,
+    updated_at       timestamp(6)   NOT NULL,
+    name             varchar(100)   NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    spent            numeric(19, 2) NOT NULL,
+    period           varchar(20)    NOT NULL
+        CHECK (period IN ('WEEKLY', 'MONTHLY', 'QUARTERLY', 'YEARLY', 'CUSTOM')),
+    start_date       date           NOT NULL,
+    end_date         date           NOT NULL,
+    description      varchar(500),
+    category_id      bigint         NOT NULL REFERENCES categories (id),
+    user_id          bigint         NOT NULL REFERENCES users (id),
+    active           boolean        NOT NULL,
+    alert_threshold  numeric(5, 2)
+);
+
+CREATE INDEX idx_budget_period ON budgets (start_date, end_date);
+CREATE INDEX idx_budget_category ON budgets (category_id);
+
+CREATE TABLE goals (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at      timestamp(6)   NOT NULL,
+    updated_at      timestamp(6)   NOT NULL,
+    name            varchar(100)   NOT NULL,
+    description     varchar(500),
+    target_amount   numeric(19, 2) NOT NULL,
+    current_amount  numeric(19, 2) NOT NULL,
+    target_date     date           NOT NULL,
+    status          varchar(20)    NOT NULL
+        CHECK (status IN ('IN_PROGRESS', 'COMPLETED', 'ABANDONED', 'PAUSED')),
+    priority        varchar(30) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    icon            varchar(50),
+    color           varchar(20),
+    account_id      bigint REFERENCES accounts (id),
+    user_id         bigint         NOT NULL REFERENCES users (id)
+);
+
+CREATE INDEX idx_goal_target_date ON goals (target_date);
+CREATE INDEX idx_goal_status ON goals (status);
+CREATE INDEX idx_goal_user ON goals (user_id);
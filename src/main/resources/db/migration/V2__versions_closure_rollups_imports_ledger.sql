@@ -0,0 +1,74 @@
+-- Columns and tables added on top of the baseline schema: optimistic and data versions,
+-- the category closure, daily rollups, import jobs, the account ledger and balance snapshots.
+-- Their contents are backfilled by the application at startup.
+
+ALTER TABLE users ADD COLUMN data_version bigint DEFAULT 0 NOT NULL;
+
+ALTER TABLE accounts ADD COLUMN version bigint DEFAULT 0 NOT NULL;
+
+CREATE TABLE category_closure (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ancestor_id    bigint  NOT NULL REFERENCES categories (id),
+    descendant_id  bigint  NOT NULL REFERENCES categories (id),
+    depth          integer NOT NULL,
+    CONSTRAINT uk_category_closure UNIQUE (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_category_closure_descendant ON category_closure (descendant_id);
+
+CREATE TABLE daily_rollups (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            bigint         NOT NULL REFERENCES users (id),
+    rollup_date        date           NOT NULL,
+    category_id        bigint         NOT NULL REFERENCES categories (id),
+    type               varchar(20)    NOT NULL,
+    total              numeric(19, 2) NOT NULL,
+    transaction_count  bigint         NOT NULL,
+    CONSTRAINT uk_daily_rollup UNIQUE (user_id, rollup_date, category_id, type)
+);
+
+CREATE TABLE import_jobs (
+    id                  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          timestamp(6) NOT NULL,
+    updated_at          timestamp(6) NOT NULL,
+    user_id             bigint       NOT NULL REFERENCES users (id),
+    account_id          bigint       NOT NULL REFERENCES accounts (id),
+    category_id         bigint       NOT NULL REFERENCES categories (id),
+    income_category_id  bigint REFERENCES categories (id),
+    file_name           varchar(255),
+    format              varchar(10)  NOT NULL,
+    status              varchar(20)  NOT NULL,
+    processed_rows      bigint       NOT NULL,
+    imported_rows       bigint       NOT NULL,
+    failed_rows         bigint       NOT NULL,
+    duplicate_rows      bigint DEFAULT 0 NOT NULL,
+    error_report        text,
+    error_message       varchar(500),
+    completed_at        timestamp(6)
+);
+
+CREATE INDEX idx_import_job_user_id ON import_jobs (user_id);
+
+CREATE TABLE ledger_entries (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id      bigint         NOT NULL REFERENCES accounts (id),
+    transaction_id  bigint,
+    entry_date      date           NOT NULL,
+    amount          numeric(19, 2) NOT NULL,
+    kind            varchar(20)    NOT NULL,
+    txid            bigint DEFAULT txid_current() NOT NULL,
+    created_at      timestamp(6)   NOT NULL
+);
+
+CREATE INDEX idx_ledger_account_date ON ledger_entries (account_id, entry_date);
+CREATE INDEX idx_ledger_account_txid ON ledger_entries (account_id, txid);
+
+CREATE TABLE balance_snapshots (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id     bigint         NOT NULL REFERENCES accounts (id),
+    snapshot_date  date           NOT NULL,
+    balance        numeric(19, 2) NOT NULL,
+    xact_snapshot  txid_snapshot  NOT NULL,
+    created_at     timestamp(6)   NOT NULL,
+    CONSTRAINT uk_balance_snapshot UNIQUE (account_id, snapshot_date)
+);
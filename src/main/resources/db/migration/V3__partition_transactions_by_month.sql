@@ -0,0 +1,108 @@
+-- Range-partition transactions by month of transaction_date. Queries bounded by date only touch
+-- the matching partitions, and every partition carries its own composite indexes.
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+DROP INDEX IF EXISTS idx_transaction_date;
+DROP INDEX IF EXISTS idx_account_id;
+DROP INDEX IF EXISTS idx_category_id;
+DROP INDEX IF EXISTS idx_transaction_user_date_id;
+DROP INDEX IF EXISTS idx_transaction_account_date_id;
+
+-- Partitioned tables cannot own an identity column before PostgreSQL 17
+CREATE SEQUENCE transaction_id_seq;
+
+CREATE TABLE transactions (
+    id                   bigint         NOT NULL DEFAULT nextval('transaction_id_seq'),
+    created_at           timestamp(6)   NOT NULL,
+    updated_at           timestamp(6)   NOT NULL,
+    amount               numeric(19, 2) NOT NULL,
+    type                 varchar(20)    NOT NULL,
+    transaction_date     date           NOT NULL,
+    description          varchar(500),
+    payee                varchar(200),
+    reference            varchar(100),
+    notes                varchar(500),
+    account_id           bigint         NOT NULL,
+    category_id          bigint         NOT NULL,
+    user_id              bigint         NOT NULL,
+    transfer_account_id  bigint,
+    reconciled           boolean        NOT NULL,
+    -- The partition key must be part of the primary key; ids stay unique through the sequence
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transaction_id_seq OWNED BY transactions.id;
+
+-- Dates without a monthly partition yet
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Create the partition of the month containing p_month, if missing, moving in any of its rows
+-- that landed in the default partition. Called ahead of time by the application.
+CREATE PROCEDURE ensure_transaction_partition(p_month date)
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_from date := date_trunc('month', p_month)::date;
+    v_to   date := (date_trunc('month', p_month) + interval '1 month')::date;
+    v_name text := 'transactions_' || to_char(v_from, 'YYYY_MM');
+BEGIN
+    -- Serializes concurrent callers, e.g. several application instances starting together
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_transaction_partition'));
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    -- Writers into the default partition wait until the partition is attached, so no row of the
+    -- month can arrive there between the move and the attach (which would also need this lock)
+    LOCK TABLE transactions_default IN EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+    EXECUTE format('WITH moved AS (DELETE FROM transactions_default '
+                   'WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', v_from, v_to, v_name);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_from, v_to);
+END $$;
+
+-- Monthly partitions from the oldest transaction (at most 20 years back) to three months ahead
+DO $$
+DECLARE
+    v_month date;
+    v_last  date;
+BEGIN
+    SELECT date_trunc('month', GREATEST(COALESCE(MIN(transaction_date), CURRENT_DATE),
+                                        CURRENT_DATE - interval '20 years'))::date,
+           date_trunc('month', GREATEST(COALESCE(MAX(transaction_date), CURRENT_DATE),
+                                        CURRENT_DATE + interval '3 months'))::date
+      INTO v_month, v_last
+      FROM transactions_legacy;
+
+    WHILE v_month <= v_last LOOP
+        CALL ensure_transaction_partition(v_month);
+        v_month := (v_month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, created_at, updated_at, amount, type, transaction_date, description, payee,
+                          reference, notes, account_id, category_id, user_id, transfer_account_id, reconciled)
+SELECT id, created_at, updated_at, amount, type, transaction_date, description, payee,
+       reference, notes, account_id, category_id, user_id, transfer_account_id, reconciled
+  FROM transactions_legacy;
+
+SELECT setval('transaction_id_seq', COALESCE((SELECT MAX(id) FROM transactions_legacy), 0) + 1, false);
+
+DROP TABLE transactions_legacy;
+
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES accounts (id),
+    ADD CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    ADD CONSTRAINT fk_transaction_user FOREIGN KEY (user_id) REFERENCES users (id),
+    ADD CONSTRAINT fk_transaction_transfer_account FOREIGN KEY (transfer_account_id) REFERENCES accounts (id);
+
+-- Built after the copy; each one cascades to every partition, present and future
+CREATE INDEX idx_transaction_user_date_id ON transactions (user_id, transaction_date, id);
+CREATE INDEX idx_transaction_user_type_date ON transactions (user_id, type, transaction_date);
+CREATE INDEX idx_transaction_account_date_id ON transactions (account_id, transaction_date, id);
+CREATE INDEX idx_category_id ON transactions (category_id);
+
+ANALYZE transactions;
@@ -0,0 +1,31 @@
+package com.finance.importer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records what a parser reports, for assertions
+ */
+class CollectingHandler implements StatementParser.RowHandler {
+
+    final List<StatementRow> rows = new ArrayList<>();
+    final List<String> errors = new ArrayList<>();
+
+    static CollectingHandler parse(StatementParser parser, String input) throws IOException {
+        CollectingHandler handler = new CollectingHandler();
+        parser.parse(new StringReader(input), handler);
+        return handler;
+    }
+
+    @Override
+    public void onRow(StatementRow row) {
+        rows.add(row);
+    }
+
+    @Override
+    public void onError(long lineNumber, String message) {
+        errors.add(lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.finance.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvStatementParserTest {
+
+    @Test
+    void readsCommaDelimitedRowsWithAliasedColumns() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(),
+            "Date,Name,Amount,Memo,Ref\n"
+                + "2024-01-05,Market,-25.40,Weekly shop,A1\n"
+                + "2024-01-06,Employer,\"1,500.00\",,\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(2);
+        StatementRow first = result.rows.get(0);
+        assertThat(first.lineNumber()).isEqualTo(2L);
+        assertThat(first.date()).isEqualTo(LocalDate.of(2024, 1, 5));
+        assertThat(first.amount()).isEqualTo(new BigDecimal("-25.40"));
+        assertThat(first.payee()).isEqualTo("Market");
+        assertThat(first.description()).isEqualTo("Weekly shop");
+        assertThat(first.reference()).isEqualTo("A1");
+        assertThat(result.rows.get(1).amount()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(result.rows.get(1).description()).isNull();
+    }
+
+    @Test
+    void detectsSemicolonsAndEuropeanNotation() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(),
+            "date;montant;libelle\r\n07/03/2024;-1.234,56;Loyer\r\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows.get(0).date()).isEqualTo(LocalDate.of(2024, 3, 7));
+        assertThat(result.rows.get(0).amount()).isEqualTo(new BigDecimal("-1234.56"));
+        assertThat(result.rows.get(0).description()).isEqualTo("Loyer");
+    }
+
+    @Test
+    void keepsQuotedDelimitersQuotesAndLineBreaks() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(),
+            "date,amount,description\n"
+                + "2024-01-05,-3.00,\"Coffee, \"\"large\"\"\nsecond line\"\n"
+                + "2024-01-06,-4.00,Tea\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(2);
+        assertThat(result.rows.get(0).description()).isEqualTo("Coffee, \"large\"\nsecond line");
+        // Line numbers follow the physical lines of the file
+        assertThat(result.rows.get(1).lineNumber()).isEqualTo(4L);
+    }
+
+    @Test
+    void skipsAUtf8ByteOrderMark() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(),
+            "﻿Date,Amount\n2024-01-05,10.00\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(1);
+    }
+
+    @Test
+    void reportsBadRowsAndContinues() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(),
+            "date,amount\n"
+                + "yesterday,1.00\n"
+                + "2024-01-05,\"1,234\"\n"
+                + "2024-01-06\n"
+                + "\n"
+                + "2024-01-07,2.50\n");
+
+        assertThat(result.errors).hasSize(3);
+        assertThat(result.errors.get(0)).startsWith("2: ");
+        assertThat(result.rows).hasSize(1);
+        assertThat(result.rows.get(0).amount()).isEqualTo(new BigDecimal("2.50"));
+    }
+
+    @Test
+    void rejectsAHeaderWithoutDateAndAmount() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new CsvStatementParser(), "when,how much\n2024-01-05,1\n");
+
+        assertThat(result.rows).isEmpty();
+        assertThat(result.errors).containsExactly("1: Header must name a date and an amount column");
+    }
+}
@@ -0,0 +1,61 @@
+package com.finance.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfxStatementParserTest {
+
+    @Test
+    void readsSgmlWithUnclosedValueTags() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new OfxStatementParser(),
+            "OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n"
+                + "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+                + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20240105120000[-5:EST]\n<TRNAMT>-25.40\n"
+                + "<FITID>9001\n<NAME>Market &amp; Deli\n<MEMO>Weekly shop\n</STMTTRN>\n"
+                + "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20240106\n<TRNAMT>1500.00\n<CHECKNUM>77\n</STMTTRN>\n"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(2);
+        StatementRow first = result.rows.get(0);
+        assertThat(first.date()).isEqualTo(LocalDate.of(2024, 1, 5));
+        assertThat(first.amount()).isEqualTo(new BigDecimal("-25.40"));
+        assertThat(first.payee()).isEqualTo("Market & Deli");
+        assertThat(first.description()).isEqualTo("Weekly shop");
+        assertThat(first.reference()).isEqualTo("9001");
+        assertThat(result.rows.get(1).reference()).isEqualTo("77");
+    }
+
+    @Test
+    void readsXmlWithClosedTags() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new OfxStatementParser(),
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?OFX OFXHEADER=\"200\" VERSION=\"220\"?>\n"
+                + "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+                + "  <STMTTRN>\n    <DTPOSTED>20240307</DTPOSTED>\n    <TRNAMT>-1234.56</TRNAMT>\n"
+                + "    <FITID>X-1</FITID>\n    <NAME>Rent</NAME>\n  </STMTTRN>\n"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(1);
+        assertThat(result.rows.get(0).date()).isEqualTo(LocalDate.of(2024, 3, 7));
+        assertThat(result.rows.get(0).amount()).isEqualTo(new BigDecimal("-1234.56"));
+        assertThat(result.rows.get(0).payee()).isEqualTo("Rent");
+        assertThat(result.rows.get(0).description()).isNull();
+    }
+
+    @Test
+    void reportsTransactionsMissingRequiredFields() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new OfxStatementParser(),
+            "<OFX>\n<STMTTRN>\n<TRNAMT>-1.00\n</STMTTRN>\n"
+                + "<STMTTRN>\n<DTPOSTED>20240105\n<TRNAMT>-1.005\n</STMTTRN>\n"
+                + "<STMTTRN>\n<DTPOSTED>20240106\n<TRNAMT>2.00\n</STMTTRN>\n</OFX>\n");
+
+        assertThat(result.errors).hasSize(2);
+        assertThat(result.errors.get(0)).isEqualTo("2: Transaction without DTPOSTED or TRNAMT");
+        assertThat(result.rows).hasSize(1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.finance.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QifStatementParserTest {
+
+    @Test
+    void readsRecordsWithTwoAndFourDigitYears() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new QifStatementParser(),
+            "!Type:Bank\n"
+                + "D1/15'24\nT-25.40\nPMarket\nMWeekly shop\nN101\n^\n"
+                + "D01/16/2024\nU1,500.00\nPEmployer\n^\n"
+                + "D12/31/99\nT3.00\n");
+
+        assertThat(result.errors).isEmpty();
+        assertThat(result.rows).hasSize(3);
+        StatementRow first = result.rows.get(0);
+        assertThat(first.lineNumber()).isEqualTo(2L);
+        assertThat(first.date()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(first.amount()).isEqualTo(new BigDecimal("-25.40"));
+        assertThat(first.payee()).isEqualTo("Market");
+        assertThat(first.description()).isEqualTo("Weekly shop");
+        assertThat(first.reference()).isEqualTo("101");
+        assertThat(result.rows.get(1).date()).isEqualTo(LocalDate.of(2024, 1, 16));
+        assertThat(result.rows.get(1).amount()).isEqualTo(new BigDecimal("1500.00"));
+        // A last record without a closing caret is still read
+        assertThat(result.rows.get(2).date()).isEqualTo(LocalDate.of(1999, 12, 31));
+    }
+
+    @Test
+    void reportsInvalidRecordsAndContinues() throws Exception {
+        CollectingHandler result = CollectingHandler.parse(new QifStatementParser(),
+            "!Type:Bank\n"
+                + "PNo date\nT1.00\n^\n"
+                + "D13/45/2024\nT1.00\n^\n"
+                + "D02/01/2024\nT1,234\n^\n"
+                + "D02/02/2024\nT-9.99\n^\n");
+
+        assertThat(result.errors).hasSize(3);
+        assertThat(result.errors.get(0)).isEqualTo("2: Record without date or amount");
+        assertThat(result.rows).hasSize(1);
+        assertThat(result.rows.get(0).amount()).isEqualTo(new BigDecimal("-9.99"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.finance.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementValuesTest {
+
+    @Test
+    void parsesDecimalAndGroupingNotations() {
+        assertThat(StatementValues.parseAmount("1234.56")).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(StatementValues.parseAmount("1,234.56")).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(StatementValues.parseAmount("1.234,56")).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(StatementValues.parseAmount("1 234,56")).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(StatementValues.parseAmount("1 234,56")).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(StatementValues.parseAmount("1,234,567")).isEqualTo(new BigDecimal("1234567.00"));
+        assertThat(StatementValues.parseAmount("1.234.567,8")).isEqualTo(new BigDecimal("1234567.80"));
+        assertThat(StatementValues.parseAmount("42")).isEqualTo(new BigDecimal("42.00"));
+    }
+
+    @Test
+    void parsesSignsAndParentheses() {
+        assertThat(StatementValues.parseAmount("-12,5")).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(StatementValues.parseAmount("(12.50)")).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(StatementValues.parseAmount(" +7.05 ")).isEqualTo(new BigDecimal("7.05"));
+    }
+
+    @Test
+    void rejectsALoneThreeDigitGroupAsAmbiguous() {
+        assertThatThrownBy(() -> StatementValues.parseAmount("1,234")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatementValues.parseAmount("-1.234")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsDigitsBeyondCentsButAcceptsTrailingZeros() {
+        assertThatThrownBy(() -> StatementValues.parseAmount("10.005")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatementValues.parseAmount("0,0001")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(StatementValues.parseAmount("10.5000")).isEqualTo(new BigDecimal("10.50"));
+    }
+
+    @Test
+    void rejectsNonNumbers() {
+        assertThatThrownBy(() -> StatementValues.parseAmount("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatementValues.parseAmount("12 EUR")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parsesDateNotations() {
+        LocalDate expected = LocalDate.of(2024, 3, 7);
+
+        assertThat(StatementValues.parseDate("2024-03-07")).isEqualTo(expected);
+        assertThat(StatementValues.parseDate("07/03/2024")).isEqualTo(expected);
+        assertThat(StatementValues.parseDate(" 20240307 ")).isEqualTo(expected);
+        assertThatThrownBy(() -> StatementValues.parseDate("2024-13-01")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatementValues.parseDate("March 7")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.finance.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteGenerationsTest {
+
+    @Test
+    void detectsWritesDuringARead() {
+        WriteGenerations generations = new WriteGenerations();
+        long generation = generations.begin(1L);
+
+        generations.recordWrite(2L);
+        assertThat(generations.changedSince(1L, generation)).isFalse();
+
+        generations.recordWrite(1L);
+        assertThat(generations.changedSince(1L, generation)).isTrue();
+        generations.end(1L);
+    }
+
+    @Test
+    void forgetsAUserOnceTheLastReadEnds() {
+        WriteGenerations generations = new WriteGenerations();
+        long first = generations.begin(1L);
+        generations.recordWrite(1L);
+        long second = generations.begin(1L);
+
+        generations.end(1L);
+        // Still watched for the second read
+        assertThat(generations.changedSince(1L, first)).isTrue();
+        assertThat(generations.changedSince(1L, second)).isFalse();
+        generations.end(1L);
+
+        // Writes with no read in progress are not counted, and a new read starts afresh
+        generations.recordWrite(1L);
+        long third = generations.begin(1L);
+        assertThat(third).isEqualTo(0L);
+        generations.end(1L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.finance.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database created by ddl-auto before migrations existed. Flyway
+ * must baseline it at V1, apply the later migrations, and leave a schema Hibernate validates;
+ * the context failing to start fails every test here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class BaselineUpgradeTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withInitScript("db/baseline-install.sql");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void baselinesTheExistingSchemaAndAppliesLaterMigrations() {
+        List<String> applied = jdbcTemplate.queryForList(
+            "SELECT version || ':' || type || ':' || success FROM flyway_schema_history ORDER BY installed_rank",
+            String.class);
+
+        assertThat(applied).containsExactly("1:BASELINE:true", "2:SQL:true", "3:SQL:true");
+    }
+
+    @Test
+    void keepsTransactionsAndMovesThemIntoPartitions() {
+        String kind = jdbcTemplate.queryForObject(
+            "SELECT relkind::text FROM pg_class WHERE relname = 'transactions'", String.class);
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        Long inDefault = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_default", Long.class);
+        Long nextId = jdbcTemplate.queryForObject("SELECT nextval('transaction_id_seq')", Long.class);
+
+        assertThat(kind).isEqualTo("p");
+        assertThat(rows).isEqualTo(3L);
+        assertThat(inDefault).isZero();
+        assertThat(nextId).isGreaterThan(3L);
+    }
+
+    @Test
+    void backfillsTheTablesAddedSinceTheBaseline() {
+        BigDecimal checking = jdbcTemplate.queryForObject(
+            "SELECT SUM(amount) FROM ledger_entries WHERE account_id = 1", BigDecimal.class);
+        BigDecimal savings = jdbcTemplate.queryForObject(
+            "SELECT SUM(amount) FROM ledger_entries WHERE account_id = 2", BigDecimal.class);
+        Long groceriesUnderLiving = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM category_closure WHERE ancestor_id = 2 AND descendant_id = 3", Long.class);
+        BigDecimal expenses = jdbcTemplate.queryForObject(
+            "SELECT SUM(total) FROM daily_rollups WHERE user_id = 1 AND type = 'EXPENSE'", BigDecimal.class);
+        Long dataVersion = jdbcTemplate.queryForObject("SELECT data_version FROM users WHERE id = 1", Long.class);
+
+        assertThat(checking).isEqualByComparingTo("1175.00");
+        assertThat(savings).isEqualByComparingTo("200.00");
+        assertThat(groceriesUnderLiving).isEqualTo(1L);
+        assertThat(expenses).isEqualByComparingTo("125.00");
+        assertThat(dataVersion).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.finance.service;
+
+import com.finance.dto.account.AccountRequest;
+import com.finance.dto.budget.BudgetRequest;
+import com.finance.dto.category.CategoryRequest;
+import com.finance.dto.goal.GoalRequest;
+import com.finance.dto.transaction.TransactionRequest;
+import com.finance.entity.Account;
+import com.finance.entity.Budget;
+import com.finance.entity.Category;
+import com.finance.entity.Goal;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.entity.User;
+import com.finance.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List endpoints must load their rows and every association the mappers read in a fixed
+ * number of statements, however many rows come back. Each list below returns well over
+ * the statement budget in rows, so one lazy load per row would fail the assertion.
+ */
+class ListQueryStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String username;
+    private Long accountId;
+
+    @BeforeEach
+    void createUserData() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = createUser();
+        username = user.getUsername();
+
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accountIds.add(accountService.createAccount(new AccountRequest(
+                "Account " + i, null, Account.AccountType.CHECKING, new BigDecimal("5000.00"), "EUR"), username).id());
+        }
+        accountId = accountIds.get(0);
+
+        Long parentId = categoryService.createCategory(
+            new CategoryRequest("Living", null, Category.CategoryType.EXPENSE, null, null, null), username).id();
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            categoryIds.add(categoryService.createCategory(new CategoryRequest(
+                "Category " + i, null, Category.CategoryType.EXPENSE, null, null, i % 2 == 0 ? parentId : null),
+                username).id());
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            Long categoryId = categoryIds.get(i);
+            transactionService.createTransaction(new TransactionRequest(
+                new BigDecimal("12.50"), TransactionType.EXPENSE, today.minusDays(i), "Groceries " + i,
+                null, null, null, accountId, categoryId, null, false), username);
+            transactionService.createTransaction(new TransactionRequest(
+                new BigDecimal("40.00"), TransactionType.TRANSFER, today.minusDays(i), "Savings " + i,
+                null, null, null, accountId, categoryId, accountIds.get(1 + i % 2), false), username);
+
+            budgetService.createBudget(new BudgetRequest(
+                "Budget " + i, new BigDecimal("300.00"), Budget.BudgetPeriod.MONTHLY,
+                today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()), null, categoryId, null),
+                username);
+            goalService.createGoal(new GoalRequest(
+                "Goal " + i, null, new BigDecimal("1000.00"), null, today.plusMonths(6),
+                Goal.GoalPriority.MEDIUM, null, null, accountIds.get(i % 3)), username);
+        }
+    }
+
+    @Test
+    void transactionListsUseAFixedNumberOfStatements() {
+        LocalDate today = LocalDate.now();
+        PageRequest page = PageRequest.of(0, ROWS);
+
+        assertStatements(3, () -> transactionService.getAllTransactions(username, page));
+        assertStatements(4, () -> transactionService.getTransactionsByAccount(accountId, username, page));
+        assertStatements(2, () -> transactionService.getTransactionsByDateRange(
+            username, today.minusDays(ROWS), today));
+        // Below the search index's minimum length, so the database query runs
+        assertStatements(3, () -> transactionService.searchTransactions(username, "G", page));
+
+        assertStatements(2, () -> transactionService.getAllTransactionsByCursor(username, null, ROWS));
+        assertStatements(3, () -> transactionService.getTransactionsByAccountByCursor(
+            accountId, username, null, ROWS));
+        assertStatements(2, () -> transactionService.searchTransactionsByCursor(username, "Savings", null, ROWS));
+    }
+
+    @Test
+    void budgetGoalAndCategoryListsUseAFixedNumberOfStatements() {
+        assertStatements(2, () -> budgetService.getAllBudgets(username));
+        assertStatements(2, () -> budgetService.getAllBudgetsByCursor(username, null, ROWS));
+
+        assertStatements(2, () -> goalService.getAllGoals(username));
+        assertStatements(2, () -> goalService.getAllGoalsByCursor(username, null, ROWS));
+
+        assertStatements(2, () -> categoryService.getAllCategories(username));
+        assertStatements(2, () -> categoryService.getAllCategoriesByCursor(username, null, ROWS));
+        assertStatements(2, () -> categoryService.getRootCategories(username));
+    }
+
+    private void assertStatements(long maximum, Runnable call) {
+        statistics.clear();
+        call.run();
+        assertThat(statistics.getPrepareStatementCount())
+            .as("prepared statements")
+            .isLessThanOrEqualTo(maximum);
+    }
+}
@@ -0,0 +1,99 @@
+package com.finance.service;
+
+import com.finance.dto.account.AccountRequest;
+import com.finance.dto.category.CategoryRequest;
+import com.finance.dto.transaction.TransactionRequest;
+import com.finance.entity.Account;
+import com.finance.entity.Category;
+import com.finance.entity.Transaction.TransactionType;
+import com.finance.entity.User;
+import com.finance.repository.AccountRepository;
+import com.finance.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of writers hitting one account at once must not lose a single balance change
+ */
+class TransactionBalanceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 300;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelWritersToOneAccountLoseNoUpdates() throws Exception {
+        User user = createUser();
+        String username = user.getUsername();
+        Long accountId = accountService.createAccount(
+            new AccountRequest("Checking", null, Account.AccountType.CHECKING, OPENING_BALANCE, "EUR"), username).id();
+        Long incomeCategoryId = categoryService.createCategory(
+            new CategoryRequest("Salary", null, Category.CategoryType.INCOME, null, null, null), username).id();
+        Long expenseCategoryId = categoryService.createCategory(
+            new CategoryRequest("Groceries", null, Category.CategoryType.EXPENSE, null, null, null), username).id();
+
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        BigDecimal expected = OPENING_BALANCE;
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                boolean income = i % 3 == 0;
+                BigDecimal amount = new BigDecimal(i + 1).movePointLeft(2).add(BigDecimal.ONE);
+                expected = income ? expected.add(amount) : expected.subtract(amount);
+
+                TransactionRequest request = new TransactionRequest(amount,
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE, LocalDate.now().minusDays(i % 40),
+                    "Writer " + i, null, null, null, accountId,
+                    income ? incomeCategoryId : expenseCategoryId, null, false);
+                results.add(writers.submit(() -> {
+                    start.await();
+                    return transactionService.createTransaction(request, username);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+        BigDecimal ledgerSum = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(amount), 0) FROM ledger_entries WHERE account_id = ?", BigDecimal.class, accountId);
+        Long transactions = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class, accountId);
+
+        assertThat(transactions).isEqualTo(WRITERS);
+        assertThat(balance).isEqualByComparingTo(expected);
+        assertThat(ledgerSum).isEqualByComparingTo(expected);
+    }
+}
@@ -0,0 +1,44 @@
+package com.finance.support;
+
+import com.finance.entity.User;
+import com.finance.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+/**
+ * Full application context on a PostgreSQL container shared by all subclasses; the schema
+ * comes from the Flyway migrations, as in production. Skipped where Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    /**
+     * A new user with a unique name, so tests sharing the database do not see each other's data
+     */
+    protected User createUser() {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+            .username(username)
+            .email(username + "@example.com")
+            .password("not-used")
+            .role(User.Role.USER)
+            .enabled(true)
+            .build());
+    }
+}
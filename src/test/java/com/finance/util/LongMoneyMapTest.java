@@ -0,0 +1,79 @@
+package com.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongMoneyMapTest {
+
+    @Test
+    void accumulatesTotalsAndCountsPerKey() {
+        LongMoneyMap map = new LongMoneyMap();
+
+        int first = map.add(42L, new BigDecimal("10.00"), 1);
+        int second = map.add(-7L, new BigDecimal("3.333"), 2);
+        map.add(42L, new BigDecimal("5.255"), 1);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(first).isEqualTo(0);
+        assertThat(second).isEqualTo(1);
+        assertThat(map.keyAt(first)).isEqualTo(42L);
+        assertThat(map.totalAt(first)).isEqualTo(new BigDecimal("15.26"));
+        assertThat(map.countAt(first)).isEqualTo(2L);
+        assertThat(map.totalOf(-7L)).isEqualTo(new BigDecimal("3.33"));
+        assertThat(map.countAt(second)).isEqualTo(2L);
+    }
+
+    @Test
+    void missingKeyTotalsZero() {
+        LongMoneyMap map = new LongMoneyMap();
+        map.add(1L, BigDecimal.ONE, 1);
+
+        assertThat(map.totalOf(2L)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsOrdinalsAndTotalsAcrossGrowth() {
+        LongMoneyMap map = new LongMoneyMap(2);
+        int keys = 10_000;
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < keys; i++) {
+                // Multiples of a power of two collide under a weak hash
+                int ordinal = map.add(i * 1024L, MoneyAccumulator.fromCents(i), 1);
+                assertThat(ordinal).isEqualTo(i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(keys);
+        for (int i = 0; i < keys; i++) {
+            assertThat(map.keyAt(i)).isEqualTo(i * 1024L);
+            assertThat(map.totalOf(i * 1024L)).isEqualTo(MoneyAccumulator.fromCents(3L * i));
+            assertThat(map.countAt(i)).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    void overflowingKeyContinuesAsBigDecimal() {
+        BigDecimal maxCents = MoneyAccumulator.fromCents(Long.MAX_VALUE);
+        LongMoneyMap map = new LongMoneyMap(2);
+
+        map.add(1L, maxCents, 1);
+        map.add(1L, new BigDecimal("0.01"), 1);
+        map.add(2L, new BigDecimal("4.00"), 1);
+
+        assertThat(map.totalOf(1L)).isEqualTo(maxCents.add(new BigDecimal("0.01")));
+        assertThat(map.countAt(0)).isEqualTo(2L);
+        assertThat(map.totalOf(2L)).isEqualTo(new BigDecimal("4.00"));
+
+        // The BigDecimal totals survive a resize
+        for (long key = 3; key < 100; key++) {
+            map.add(key, BigDecimal.ONE, 1);
+        }
+        assertThat(map.totalOf(1L)).isEqualTo(maxCents.add(new BigDecimal("0.01")));
+        assertThat(map.totalOf(50L)).isEqualTo(new BigDecimal("1.00"));
+    }
+}
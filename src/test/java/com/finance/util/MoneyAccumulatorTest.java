@@ -0,0 +1,74 @@
+package com.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyAccumulatorTest {
+
+    private static final BigDecimal MAX_CENTS = MoneyAccumulator.fromCents(Long.MAX_VALUE);
+
+    @Test
+    void sumsAmountsExactly() {
+        MoneyAccumulator sum = new MoneyAccumulator()
+            .add(new BigDecimal("10.10"))
+            .add(new BigDecimal("-3.05"))
+            .add(new BigDecimal("0.01"))
+            .addCents(100);
+
+        assertThat(sum.total()).isEqualTo(new BigDecimal("8.06"));
+    }
+
+    @Test
+    void emptySumIsZeroWithTwoDecimals() {
+        assertThat(new MoneyAccumulator().total()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void roundsToCentsHalfUp() {
+        assertThat(MoneyAccumulator.toCents(new BigDecimal("1.005"))).isEqualTo(101L);
+        assertThat(MoneyAccumulator.toCents(new BigDecimal("1.004"))).isEqualTo(100L);
+        assertThat(MoneyAccumulator.toCents(new BigDecimal("-1.005"))).isEqualTo(-101L);
+        assertThat(MoneyAccumulator.toCents(new BigDecimal("7"))).isEqualTo(700L);
+
+        assertThat(new MoneyAccumulator().add(new BigDecimal("0.125")).add(new BigDecimal("0.125")).total())
+            .isEqualTo(new BigDecimal("0.26"));
+    }
+
+    @Test
+    void toCentsRejectsAmountsBeyondLongRange() {
+        BigDecimal tooLarge = MAX_CENTS.add(new BigDecimal("0.01"));
+
+        assertThatThrownBy(() -> MoneyAccumulator.toCents(tooLarge)).isInstanceOf(ArithmeticException.class);
+        assertThat(MoneyAccumulator.toCents(MAX_CENTS)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void continuesAsBigDecimalWhenTheSumOverflows() {
+        MoneyAccumulator sum = new MoneyAccumulator()
+            .add(MAX_CENTS)
+            .add(new BigDecimal("0.01"))
+            .add(new BigDecimal("1.00"));
+
+        assertThat(sum.total()).isEqualTo(MAX_CENTS.add(new BigDecimal("1.01")));
+    }
+
+    @Test
+    void continuesAsBigDecimalWhenOneAmountIsTooLarge() {
+        BigDecimal huge = new BigDecimal("1e30");
+
+        MoneyAccumulator sum = new MoneyAccumulator().add(new BigDecimal("2.50")).add(huge).add(new BigDecimal("-0.005"));
+
+        assertThat(sum.total()).isEqualTo(huge.add(new BigDecimal("2.49")).setScale(2));
+    }
+
+    @Test
+    void addCentsOverflowsToBigDecimal() {
+        MoneyAccumulator sum = new MoneyAccumulator().addCents(Long.MAX_VALUE).addCents(Long.MAX_VALUE);
+
+        assertThat(sum.total()).isEqualTo(MAX_CENTS.add(MAX_CENTS));
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rough timing and allocation of the long-cents aggregation against plain BigDecimal sums
+ * over a boxed map. Excluded from the default build; run it with
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Tag("benchmark")
+class MoneyAggregationBenchmarkTest {
+
+    private static final int ROWS = 2_000_000;
+    private static final int CATEGORIES = 200;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void compareAggregationStrategies() {
+        Random random = new Random(7);
+        long[] categoryIds = new long[ROWS];
+        BigDecimal[] amounts = new BigDecimal[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            categoryIds[i] = 1 + random.nextInt(CATEGORIES);
+            amounts[i] = BigDecimal.valueOf(random.nextInt(500_000) - 100_000, 2);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            Map<Long, BigDecimal> boxed = new HashMap<>();
+            for (int i = 0; i < ROWS; i++) {
+                boxed.merge(categoryIds[i], amounts[i], BigDecimal::add);
+            }
+            long boxedNanos = System.nanoTime() - start;
+            long boxedBytes = threads.getThreadAllocatedBytes(thread) - allocated;
+
+            allocated = threads.getThreadAllocatedBytes(thread);
+            start = System.nanoTime();
+            LongMoneyMap primitive = new LongMoneyMap(CATEGORIES);
+            for (int i = 0; i < ROWS; i++) {
+                primitive.add(categoryIds[i], amounts[i], 1);
+            }
+            long primitiveNanos = System.nanoTime() - start;
+            long primitiveBytes = threads.getThreadAllocatedBytes(thread) - allocated;
+
+            System.out.printf("round %d: HashMap<Long, BigDecimal> %d ms %d KiB, LongMoneyMap %d ms %d KiB%n",
+                round, boxedNanos / 1_000_000, boxedBytes / 1024, primitiveNanos / 1_000_000, primitiveBytes / 1024);
+
+            assertThat(primitive.size()).isEqualTo(boxed.size());
+            boxed.forEach((key, total) -> assertThat(primitive.totalOf(key)).isEqualByComparingTo(total));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+-- An install made before migrations existed: the schema Hibernate 6.4 generated with
+-- ddl-auto: update from the baseline entities, and a little data. No flyway_schema_history.
+
+create table users (
+    enabled boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    role varchar(20) not null check (role in ('USER','ADMIN')),
+    username varchar(50) not null unique,
+    email varchar(100) not null unique,
+    first_name varchar(100),
+    last_name varchar(100),
+    password varchar(255) not null,
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email),
+    constraint UKr43af9ap4edm43mmtq01oddj6 unique (username)
+);
+
+create table accounts (
+    active boolean not null,
+    balance numeric(19,2) not null,
+    currency varchar(3),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    type varchar(30) not null check (type in ('CHECKING','SAVINGS','CREDIT_CARD','INVESTMENT','CASH','LOAN','OTHER')),
+    name varchar(100) not null,
+    description varchar(500),
+    primary key (id)
+);
+
+create table categories (
+    color varchar(7),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    parent_id bigint,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    icon varchar(20),
+    type varchar(20) not null check (type in ('INCOME','EXPENSE')),
+    name varchar(100) not null,
+    description varchar(500),
+    primary key (id)
+);
+
+create table transactions (
+    amount numeric(19,2) not null,
+    reconciled boolean not null,
+    transaction_date date not null,
+    account_id bigint not null,
+    category_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    transfer_account_id bigint,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    type varchar(20) not null check (type in ('INCOME','EXPENSE','TRANSFER')),
+    reference varchar(100),
+    payee varchar(200),
+    description varchar(500),
+    notes varchar(500),
+    primary key (id)
+);
+
+create table budgets (
+    active boolean not null,
+    alert_threshold numeric(5,2),
+    amount numeric(19,2) not null,
+    end_date date not null,
+    spent numeric(19,2) not null,
+    start_date date not null,
+    category_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    period varchar(20) not null check (period in ('WEEKLY','MONTHLY','QUARTERLY','YEARLY','CUSTOM')),
+    name varchar(100) not null,
+    description varchar(500),
+    primary key (id)
+);
+
+create table goals (
+    current_amount numeric(19,2) not null,
+    target_amount numeric(19,2) not null,
+    target_date date not null,
+    account_id bigint,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    color varchar(20),
+    status varchar(20) not null check (status in ('IN_PROGRESS','COMPLETED','ABANDONED','PAUSED')),
+    priority varchar(30) check (priority in ('LOW','MEDIUM','HIGH','CRITICAL')),
+    icon varchar(50),
+    name varchar(100) not null,
+    description varchar(500),
+    primary key (id)
+);
+
+create index idx_transaction_date on transactions (transaction_date);
+create index idx_account_id on transactions (account_id);
+create index idx_category_id on transactions (category_id);
+create index idx_budget_period on budgets (start_date, end_date);
+create index idx_budget_category on budgets (category_id);
+create index idx_goal_target_date on goals (target_date);
+create index idx_goal_status on goals (status);
+create index idx_goal_user on goals (user_id);
+
+alter table if exists accounts add constraint FKnjuop33mo69pd79ctplkck40n foreign key (user_id) references users;
+alter table if exists categories add constraint FKsaok720gsu4u2wrgbk10b5n8d foreign key (parent_id) references categories;
+alter table if exists categories add constraint FKghuylkwuedgl2qahxjt8g41kb foreign key (user_id) references users;
+alter table if exists transactions add constraint FK20w7wsg13u9srbq3bd1chfxj3 foreign key (account_id) references accounts;
+alter table if exists transactions add constraint FKsqqi7sneo04kast0o138h19mv foreign key (category_id) references categories;
+alter table if exists transactions add constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users;
+alter table if exists transactions add constraint FKl4mjdh0ndbfutu5ugvxf8w2ca foreign key (transfer_account_id) references accounts;
+alter table if exists budgets add constraint FKbm0cd1dkwg8jn0vdyqgm3glvy foreign key (category_id) references categories;
+alter table if exists budgets add constraint FK3kohhq3ibcjyfqk6cw6nrx4vc foreign key (user_id) references users;
+alter table if exists goals add constraint FKf6u6t8o3dj3ry8u6vd6nlfnsn foreign key (account_id) references accounts;
+alter table if exists goals add constraint FKb1y2kpbnmd52tmxkdg9dmxycr foreign key (user_id) references users;
+
+insert into users (id, created_at, updated_at, username, email, password, role, enabled)
+values (1, now(), now(), 'legacy', 'legacy@example.com', 'not-used', 'USER', true);
+
+insert into accounts (id, created_at, updated_at, name, type, balance, currency, active, user_id)
+values (1, now(), now(), 'Checking', 'CHECKING', 1175.00, 'EUR', true, 1),
+       (2, now(), now(), 'Savings', 'SAVINGS', 200.00, 'EUR', true, 1);
+
+insert into categories (id, created_at, updated_at, name, type, parent_id, user_id)
+values (1, now(), now(), 'Salary', 'INCOME', null, 1),
+       (2, now(), now(), 'Living', 'EXPENSE', null, 1),
+       (3, now(), now(), 'Groceries', 'EXPENSE', 2, 1);
+
+insert into transactions (id, created_at, updated_at, amount, type, transaction_date, description,
+                          account_id, category_id, user_id, transfer_account_id, reconciled)
+values (1, now(), now(), 1500.00, 'INCOME', date '2023-11-28', 'Salary', 1, 1, 1, null, false),
+       (2, now(), now(), 125.00, 'EXPENSE', date '2024-01-05', 'Market', 1, 3, 1, null, true),
+       (3, now(), now(), 200.00, 'TRANSFER', current_date, 'To savings', 1, 2, 1, 2, false);
+
+select setval(pg_get_serial_sequence('users', 'id'), 1);
+select setval(pg_get_serial_sequence('accounts', 'id'), 2);
+select setval(pg_get_serial_sequence('categories', 'id'), 3);
+select setval(pg_get_serial_sequence('transactions', 'id'), 3);